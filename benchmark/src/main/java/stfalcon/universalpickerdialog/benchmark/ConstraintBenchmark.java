@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import stfalcon.universalpickerdialog.model.ConstraintEngine;
+
+/*
+ * Cost of evaluating constraints on a selection change, as done for every settled column
+ * while another one is scrolled, and cost of applying them to the initial selection when the dialog is created.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConstraintBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private int[] sizes;
+    private ConstraintEngine engine;
+    private int[] positions;
+
+    private static final ConstraintEngine.Relation EVERY_THIRD = new ConstraintEngine.Relation() {
+        @Override
+        public boolean allows(int firstPosition, int secondPosition) {
+            return (firstPosition + secondPosition) % 3 == 0;
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        sizes = new int[] {size, size, size};
+        engine = build();
+        positions = new int[] {size / 2, size / 3, size / 4};
+    }
+
+    private ConstraintEngine build() {
+        ConstraintEngine engine = new ConstraintEngine(sizes);
+        engine.add(0, 1, EVERY_THIRD);
+        engine.add(1, 2, EVERY_THIRD);
+        engine.add(0, 2, EVERY_THIRD);
+        return engine;
+    }
+
+    @Benchmark
+    public int findNearestAllowed() {
+        positions[0] = (positions[0] + 1) % size;
+        return engine.findNearestAllowed(1, positions[1], positions)
+                + engine.findNearestAllowed(2, positions[2], positions);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int applyToInitialSelection() {
+        ConstraintEngine engine = build();
+        return engine.findNearestAllowed(0, positions[0], positions)
+                + engine.findNearestAllowed(1, positions[1], positions)
+                + engine.findNearestAllowed(2, positions[2], positions);
+    }
+}
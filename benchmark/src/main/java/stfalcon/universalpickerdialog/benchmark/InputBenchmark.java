@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import stfalcon.universalpickerdialog.model.ArrayViews;
+import stfalcon.universalpickerdialog.model.DataSource;
+import stfalcon.universalpickerdialog.model.PagedList;
+
+/*
+ * Cost of wrapping a data set into an Input: copying an array (as Input did before),
+ * wrapping it into a read-only view, and opening a paged data source.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InputBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private String[] array;
+    private DataSource<String> dataSource;
+
+    @Setup
+    public void setUp() {
+        array = new String[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = "Item " + i;
+        }
+        dataSource = new DataSource<String>() {
+            @Override
+            public int size() {
+                return array.length;
+            }
+
+            @Override
+            public List<String> load(int start, int count) {
+                return Arrays.asList(array).subList(start, start + count);
+            }
+        };
+    }
+
+    @Benchmark
+    public List<String> copyArray() {
+        return new ArrayList<>(Arrays.asList(array));
+    }
+
+    @Benchmark
+    public List<String> wrapArray() {
+        return new ArrayViews.ObjectArrayView<>(array);
+    }
+
+    @Benchmark
+    public List<String> openPagedList() {
+        return new PagedList<>(dataSource, PagedList.DEFAULT_PAGE_SIZE, PagedList.DEFAULT_MAX_PAGES);
+    }
+}
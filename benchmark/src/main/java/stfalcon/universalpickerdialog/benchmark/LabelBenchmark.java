@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import stfalcon.universalpickerdialog.model.Column;
+import stfalcon.universalpickerdialog.model.IntRange;
+import stfalcon.universalpickerdialog.model.LabelFormatter;
+import stfalcon.universalpickerdialog.model.LabelProvider;
+import stfalcon.universalpickerdialog.model.LabelTable;
+
+/*
+ * Cost of labels while the wheel scrolls. Each operation is one scroll step,
+ * which formats the rows visible on the wheel around the new position.
+ * Labels come from the Columns the dialog binds its pickers to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LabelBenchmark {
+
+    private static final int VISIBLE_ROWS = 5;
+    private static final Locale LOCALE = Locale.US;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private Column toStringColumn;
+    private Column formatterColumn;
+    private Column rangeColumn;
+    private Column tableColumn;
+    private LabelProvider labelCache;
+    private LabelProvider labelTable;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        final ArrayList<Item> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(new Item("Item " + i));
+        }
+        // a typical custom formatter, as in the sample
+        LabelFormatter formatter = new LabelFormatter() {
+            @Override
+            public String format(int position) {
+                return "in" + " " + list.get(position).name;
+            }
+        };
+
+        toStringColumn = new Column(0, list);
+        formatterColumn = new Column(0, list);
+        formatterColumn.setFormatter(formatter);
+        rangeColumn = new Column(0, new IntRange(0, size - 1, 1, "00000"));
+        tableColumn = new Column(0, list);
+        tableColumn.setFormatter(formatter);
+        tableColumn.setPrecomputeLabels(true);
+
+        labelCache = formatterColumn.getLabels(LOCALE);
+        labelTable = tableColumn.getLabels(LOCALE);
+    }
+
+    @Benchmark
+    public void scrollToString(Blackhole blackhole) {
+        position = (position + 1) % size;
+        for (int i = 0; i < VISIBLE_ROWS; i++) {
+            blackhole.consume(toStringColumn.formatLabel((position + i) % size));
+        }
+    }
+
+    @Benchmark
+    public void scrollFormatter(Blackhole blackhole) {
+        position = (position + 1) % size;
+        for (int i = 0; i < VISIBLE_ROWS; i++) {
+            blackhole.consume(formatterColumn.formatLabel((position + i) % size));
+        }
+    }
+
+    @Benchmark
+    public void scrollRange(Blackhole blackhole) {
+        position = (position + 1) % size;
+        for (int i = 0; i < VISIBLE_ROWS; i++) {
+            blackhole.consume(rangeColumn.formatLabel((position + i) % size));
+        }
+    }
+
+    @Benchmark
+    public void scrollLabelCache(Blackhole blackhole) {
+        scroll(labelCache, blackhole);
+    }
+
+    @Benchmark
+    public void scrollLabelTable(Blackhole blackhole) {
+        scroll(labelTable, blackhole);
+    }
+
+    @Benchmark
+    public LabelTable buildLabelTable() {
+        tableColumn.notifyDataSetChanged();
+        return tableColumn.getLabelTable(LOCALE);
+    }
+
+    private void scroll(LabelProvider labels, Blackhole blackhole) {
+        position = (position + 1) % size;
+        for (int i = 0; i < VISIBLE_ROWS; i++) {
+            blackhole.consume(labels.getLabel((position + i) % size));
+        }
+    }
+
+    static final class Item {
+
+        final String name;
+
+        Item(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
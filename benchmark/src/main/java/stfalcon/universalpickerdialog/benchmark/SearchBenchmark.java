@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import stfalcon.universalpickerdialog.model.LabelIndex;
+import stfalcon.universalpickerdialog.model.LabelProvider;
+
+/*
+ * Cost of building the search index and of answering a single keystroke
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private String[] labels;
+    private LabelProvider provider;
+    private LabelIndex index;
+    private String[] queries;
+    private int query;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        labels = new String[size];
+        for (int i = 0; i < size; i++) {
+            labels[i] = randomWord(random) + " " + randomWord(random);
+        }
+        provider = new LabelProvider() {
+            @Override
+            public int size() {
+                return labels.length;
+            }
+
+            @Override
+            public String getLabel(int position) {
+                return labels[position];
+            }
+        };
+        index = LabelIndex.build(provider, Locale.US);
+
+        queries = new String[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            String label = labels[random.nextInt(size)];
+            queries[i] = label.substring(0, 1 + random.nextInt(label.length()));
+        }
+    }
+
+    @Benchmark
+    public LabelIndex buildIndex() {
+        return LabelIndex.build(provider, Locale.US);
+    }
+
+    @Benchmark
+    public int find() {
+        query = (query + 1) % QUERY_COUNT;
+        return index.find(queries[query]);
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[3 + random.nextInt(8)];
+        word[0] = (char) ('A' + random.nextInt(26));
+        for (int i = 1; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import stfalcon.universalpickerdialog.model.ArrayViews;
+import stfalcon.universalpickerdialog.model.Column;
+import stfalcon.universalpickerdialog.model.IntRange;
+import stfalcon.universalpickerdialog.model.Selection;
+
+/*
+ * Cost of assembling the pick result, as the positive button does: the live selection of the pickers
+ * is copied into the selection of the result, which maps its positions to values and items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SelectionBenchmark {
+
+    private Selection live;
+    private Selection result;
+
+    @Setup
+    public void setUp() {
+        ArrayList<String> cities = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            cities.add("City " + i);
+        }
+        Column[] columns = {
+                new Column(0, new IntRange(1900, 2100, 1, null)),
+                new Column(0, new ArrayViews.IntArrayView(new int[] {1, 2, 5, 10, 20, 50, 100})),
+                new Column(0, cities)
+        };
+        live = new Selection(columns);
+        live.setPosition(0, 90);
+        live.setPosition(1, 3);
+        live.setPosition(2, 42);
+        result = new Selection(columns);
+    }
+
+    @Benchmark
+    public Selection positions() {
+        result.set(live);
+        return result;
+    }
+
+    @Benchmark
+    public int[] values() {
+        result.set(live);
+        return result.getValues();
+    }
+
+    @Benchmark
+    public void items(Blackhole blackhole) {
+        result.set(live);
+        for (int i = 0; i < result.size(); i++) {
+            blackhole.consume(result.getItem(i));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import stfalcon.universalpickerdialog.model.StringTable;
+
+/*
+ * Heap taken by labels stored as a list of strings and as a StringTable, and cost of drawing rows of both.
+ * Heap is reported by the build benchmarks as allocated bytes per operation,
+ * run them with the GC profiler: -PjmhArgs="StringTableBenchmark.build -prof gc"
+ * and compare gc.alloc.rate.norm. Allocations of the StringTable include the scratch arrays of its builder,
+ * so they're an upper bound of the heap it keeps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StringTableBenchmark {
+
+    private static final int VISIBLE_ROWS = 5;
+
+    @Param({"100000"})
+    public int size;
+
+    private String[] source;
+    private ArrayList<String> list;
+    private StringTable table;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        source = new String[size];
+        for (int i = 0; i < size; i++) {
+            source[i] = "Street " + i;
+        }
+        list = buildList();
+        table = buildStringTable();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ArrayList<String> buildList() {
+        // as labels loaded from a database or parsed from a file: a new string per item
+        ArrayList<String> list = new ArrayList<>(size);
+        for (String item : source) {
+            list.add(new String(item.toCharArray()));
+        }
+        return list;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public StringTable buildStringTable() {
+        StringTable.Builder builder = new StringTable.Builder(size, size * 12);
+        for (String item : source) {
+            builder.add(item);
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public void scrollList(Blackhole blackhole) {
+        position = (position + 1) % size;
+        for (int i = 0; i < VISIBLE_ROWS; i++) {
+            blackhole.consume(list.get((position + i) % size));
+        }
+    }
+
+    @Benchmark
+    public void scrollStringTable(Blackhole blackhole) {
+        position = (position + 1) % size;
+        for (int i = 0; i < VISIBLE_ROWS; i++) {
+            blackhole.consume(table.getLabel((position + i) % size));
+        }
+    }
+}
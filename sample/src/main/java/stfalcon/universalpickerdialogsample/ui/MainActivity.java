@@ -18,7 +18,7 @@ import stfalcon.universalpickerdialogsample.data.FakeData;
  * Created by troy379 on 23.08.16.
  */
 public class MainActivity extends AppCompatActivity
-        implements View.OnClickListener, UniversalPickerDialog.OnPickListener {
+        implements View.OnClickListener, UniversalPickerDialog.OnResultListener {
 
     private static final int KEY_SINGLE_PICK = 1;
     private static final int KEY_MULTI_PICK = 2;
@@ -79,21 +79,22 @@ public class MainActivity extends AppCompatActivity
     }
 
     @Override
-    public void onPick(int[] selectedValues, int key) {
+    public void onResult(UniversalPickerDialog.Result picked, int key) {
         String result = "";
 
         switch (key) {
             case KEY_SINGLE_PICK:
+                City city = picked.getItem(0);
                 result = String.format(
                         "%s (%s)",
-                        citiesList.get(selectedValues[0]).getName(),
-                        citiesList.get(selectedValues[0]).getCountry());
+                        city.getName(),
+                        city.getCountry());
                 break;
             case KEY_MULTI_PICK:
                 Developer developer = new Developer(
-                        levels[selectedValues[0]],
-                        specializations[selectedValues[1]],
-                        citiesList.get(selectedValues[2])
+                        picked.<Developer.Level>getItem(0),
+                        picked.<Developer.Specialization>getItem(1),
+                        picked.<City>getItem(2)
                 );
                 result = "You're looking for " + developer.toString();
                 break;
@@ -125,7 +126,7 @@ public class MainActivity extends AppCompatActivity
                 .setPositiveButtonColorRes(R.color.colorAccent)
                 .setNegativeButtonColorRes(R.color.colorSecondary)
                 .setContentTextSize(16)
-                .setListener(this)
+                .setResultListener(this)
                 .setInputs(inputs)
                 .setKey(key)
                 .show();
@@ -134,7 +135,7 @@ public class MainActivity extends AppCompatActivity
     private void showDefaultPicker(@StringRes int title, int key, UniversalPickerDialog.Input... inputs) {
         new UniversalPickerDialog.Builder(this)
                 .setTitle(title)
-                .setListener(this)
+                .setResultListener(this)
                 .setInputs(inputs)
                 .setKey(key)
                 .show();
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+import stfalcon.universalpickerdialog.model.ListDiff;
+
+/*
+ * Keeps dependent Inputs in sync with the columns to their left.
+ * Changes made while a wheel is scrolling are coalesced and resolved once the wheel settles.
+ * Only the columns to the right of the changed one are resolved and rebound,
+ * on the given executor if there is one, or right away on the main thread otherwise.
+ * Results which are outdated by the time they are delivered are dropped: a change of a column the pending
+ * result was resolved from, or of a column it rebinds, drops it and resolves the columns again.
+ */
+final class CascadeController {
+
+    private static final int NONE = Integer.MAX_VALUE;
+
+    interface Binder {
+        int getPosition(int column);
+
+        void rebind(int column, AbstractList<?> list, int position);
+    }
+
+    private final UniversalPickerDialog.Input[] inputs;
+    private final Binder binder;
+    private final Executor executor;
+    private final Handler handler;
+
+    private int pendingColumn = NONE;
+    /* column the result being resolved on the executor was resolved from */
+    private int inFlightColumn = NONE;
+    private volatile int generation;
+
+    CascadeController(UniversalPickerDialog.Input[] inputs, Binder binder, Executor executor) {
+        this.inputs = inputs;
+        this.binder = binder;
+        this.executor = executor;
+        this.handler = executor != null ? new Handler(Looper.getMainLooper()) : null;
+    }
+
+    static boolean hasDependentInputs(UniversalPickerDialog.Input[] inputs) {
+        if (inputs == null) return false;
+        for (UniversalPickerDialog.Input input : inputs) {
+            if (input.isDependent()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Called on each value change of the column
+     *
+     * @param scrolling whether the wheel is still moving, so resolving should wait for it to settle
+     */
+    void onValueChanged(int column, boolean scrolling) {
+        boolean resolve = hasDependentsAfter(column);
+        if (inFlightColumn != NONE && (column <= inFlightColumn || resolve || inputs[column].isDependent())) {
+            // the result would be resolved for an old selection, or overwrite the selection made meanwhile
+            generation++;
+            pendingColumn = Math.min(pendingColumn, inFlightColumn);
+            inFlightColumn = NONE;
+            resolve = true;
+        }
+        if (!resolve) return;
+        pendingColumn = Math.min(pendingColumn, column);
+        if (!scrolling) {
+            flush();
+        }
+    }
+
+    /**
+     * Called when a wheel stops scrolling
+     */
+    void onScrollIdle() {
+        if (pendingColumn != NONE) {
+            flush();
+        }
+    }
+
+    /**
+     * Drops pending changes and results which are not delivered yet
+     */
+    void cancel() {
+        pendingColumn = NONE;
+        inFlightColumn = NONE;
+        generation++;
+    }
+
+    private boolean hasDependentsAfter(int column) {
+        for (int i = column + 1; i < inputs.length; i++) {
+            if (inputs[i].isDependent()) return true;
+        }
+        return false;
+    }
+
+    private void flush() {
+        final int fromColumn = pendingColumn;
+        pendingColumn = NONE;
+        final int currentGeneration = ++generation;
+
+        final int[] selection = new int[inputs.length];
+        final AbstractList<?>[] lists = new AbstractList<?>[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            selection[i] = binder.getPosition(i);
+            lists[i] = inputs[i].getList();
+        }
+
+        if (executor == null) {
+            resolve(fromColumn, selection, lists);
+            apply(fromColumn, selection, lists);
+            return;
+        }
+
+        inFlightColumn = fromColumn;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (currentGeneration != generation) return;
+                resolve(fromColumn, selection, lists);
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (currentGeneration == generation) {
+                            inFlightColumn = NONE;
+                            apply(fromColumn, selection, lists);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Resolves lists of dependent columns after fromColumn one by one,
+     * so each of them sees the (possibly moved) selection of the columns resolved before it.
+     */
+    private void resolve(int fromColumn, int[] selection, AbstractList<?>[] lists) {
+        for (int i = fromColumn + 1; i < inputs.length; i++) {
+            UniversalPickerDialog.Input input = inputs[i];
+            if (!input.isDependent()) continue;
+
+            AbstractList<?> oldList = lists[i];
+            AbstractList<?> newList = input.resolve(Arrays.copyOf(selection, i));
+            selection[i] = ListDiff.findNewPosition(oldList, selection[i], newList);
+            lists[i] = newList;
+        }
+    }
+
+    private void apply(int fromColumn, int[] selection, AbstractList<?>[] lists) {
+        for (int i = fromColumn + 1; i < inputs.length; i++) {
+            if (inputs[i].isDependent()) {
+                binder.rebind(i, lists[i], selection[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+/*
+ * Horizontal container which splits its width between columns proportionally to their weights,
+ * measuring every child once (a weighted LinearLayout measures them twice).
+ * Columns share the width equally until weights are set.
+ */
+final class ColumnLayout extends ViewGroup {
+
+    private float[] weights;
+
+    ColumnLayout(Context context) {
+        super(context);
+    }
+
+    /**
+     * @param weights weight of each column, e.g. width of its widest label
+     */
+    void setWeights(float[] weights) {
+        this.weights = weights;
+        requestLayout();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int count = getChildCount();
+        int padding = getPaddingLeft() + getPaddingRight();
+        int available = MeasureSpec.getMode(widthMeasureSpec) == MeasureSpec.UNSPECIFIED
+                ? (int) Math.ceil(getTotalWeight(count))
+                : MeasureSpec.getSize(widthMeasureSpec) - padding;
+
+        float totalWeight = getTotalWeight(count);
+        int used = 0;
+        int height = 0;
+        for (int i = 0; i < count; i++) {
+            View child = getChildAt(i);
+            int childWidth = i == count - 1
+                    ? available - used
+                    : (int) (available * getWeight(i) / totalWeight);
+            used += childWidth;
+
+            child.measure(
+                    MeasureSpec.makeMeasureSpec(Math.max(0, childWidth), MeasureSpec.EXACTLY),
+                    getChildMeasureSpec(heightMeasureSpec,
+                            getPaddingTop() + getPaddingBottom(),
+                            child.getLayoutParams().height));
+            height = Math.max(height, child.getMeasuredHeight());
+        }
+
+        setMeasuredDimension(
+                resolveSize(available + padding, widthMeasureSpec),
+                resolveSize(height + getPaddingTop() + getPaddingBottom(), heightMeasureSpec));
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        int left = getPaddingLeft();
+        int top = getPaddingTop();
+        for (int i = 0; i < getChildCount(); i++) {
+            View child = getChildAt(i);
+            child.layout(left, top, left + child.getMeasuredWidth(), top + child.getMeasuredHeight());
+            left += child.getMeasuredWidth();
+        }
+    }
+
+    private float getWeight(int column) {
+        return weights != null && column < weights.length ? weights[column] : 1f;
+    }
+
+    private float getTotalWeight(int count) {
+        float total = 0;
+        for (int i = 0; i < count; i++) {
+            total += getWeight(i);
+        }
+        return total > 0 ? total : 1f;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.content.Context;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.HorizontalScrollView;
+
+/*
+ * Horizontally scrolling row of equally wide columns, of which only the visible ones have views.
+ * Views of columns scrolled out of the viewport are handed back to the Adapter for reuse,
+ * and views for columns scrolled in are requested from it, so the count of views
+ * doesn't depend on the count of columns.
+ */
+final class ColumnScroller extends HorizontalScrollView {
+
+    interface Adapter {
+        View getView(int column);
+
+        void onRecycle(int column, View view);
+    }
+
+    private final Strip strip;
+    private final int visibleColumns;
+
+    ColumnScroller(Context context, int columnCount, int visibleColumns, Adapter adapter) {
+        super(context);
+        this.visibleColumns = Math.max(1, visibleColumns);
+        this.strip = new Strip(context, columnCount, adapter);
+        setHorizontalScrollBarEnabled(true);
+        setFillViewport(false);
+        addView(strip, new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT));
+    }
+
+    /**
+     * Scrolls to the column if it isn't fully visible
+     */
+    void showColumn(int column) {
+        int left = column * strip.columnWidth;
+        int right = left + strip.columnWidth;
+        if (left < getScrollX()) {
+            smoothScrollTo(left, 0);
+        } else if (right > getScrollX() + strip.viewportWidth) {
+            smoothScrollTo(right - strip.viewportWidth, 0);
+        }
+    }
+
+    /**
+     * Hands views of all columns back to the Adapter
+     */
+    void clear() {
+        strip.recycle(0, -1);
+        strip.first = 0;
+        strip.last = -1;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        if (width == 0) {
+            width = getResources().getDisplayMetrics().widthPixels;
+        }
+        strip.viewportWidth = width - getPaddingLeft() - getPaddingRight();
+        strip.columnWidth = Math.max(1, strip.viewportWidth / visibleColumns);
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    }
+
+    @Override
+    protected void onScrollChanged(int l, int t, int oldl, int oldt) {
+        super.onScrollChanged(l, t, oldl, oldt);
+        if (strip.columnWidth > 0
+                && (strip.getFirstVisible() != strip.first || strip.getLastVisible() != strip.last)) {
+            strip.requestLayout();
+        }
+    }
+
+    private final class Strip extends ViewGroup {
+
+        private final int columnCount;
+        private final Adapter adapter;
+        private final SparseArray<View> views = new SparseArray<>();
+
+        int columnWidth;
+        int viewportWidth;
+        int first;
+        int last = -1;
+
+        Strip(Context context, int columnCount, Adapter adapter) {
+            super(context);
+            this.columnCount = columnCount;
+            this.adapter = adapter;
+        }
+
+        int getFirstVisible() {
+            return Math.min(columnCount - 1, Math.max(0, ColumnScroller.this.getScrollX() / columnWidth));
+        }
+
+        int getLastVisible() {
+            return Math.min(columnCount - 1,
+                    (ColumnScroller.this.getScrollX() + viewportWidth - 1) / columnWidth);
+        }
+
+        @Override
+        protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+            if (columnWidth > 0) {
+                fill(getFirstVisible(), getLastVisible());
+            }
+
+            int height = 0;
+            int childWidthSpec = MeasureSpec.makeMeasureSpec(columnWidth, MeasureSpec.EXACTLY);
+            for (int i = 0; i < views.size(); i++) {
+                View child = views.valueAt(i);
+                child.measure(childWidthSpec, getChildMeasureSpec(heightMeasureSpec,
+                        0, ViewGroup.LayoutParams.WRAP_CONTENT));
+                height = Math.max(height, child.getMeasuredHeight());
+            }
+            setMeasuredDimension(columnWidth * columnCount, resolveSize(height, heightMeasureSpec));
+        }
+
+        @Override
+        protected void onLayout(boolean changed, int l, int t, int r, int b) {
+            for (int i = 0; i < views.size(); i++) {
+                View child = views.valueAt(i);
+                int left = views.keyAt(i) * columnWidth;
+                child.layout(left, 0, left + child.getMeasuredWidth(), child.getMeasuredHeight());
+            }
+        }
+
+        /**
+         * Keeps views only for the columns in the range, reusing views of the columns out of it
+         */
+        private void fill(int first, int last) {
+            recycle(first, last);
+            for (int column = first; column <= last; column++) {
+                if (views.get(column) == null) {
+                    View view = adapter.getView(column);
+                    views.put(column, view);
+                    addViewInLayout(view, -1, generateDefaultLayoutParams(), true);
+                }
+            }
+            this.first = first;
+            this.last = last;
+        }
+
+        private void recycle(int first, int last) {
+            for (int i = views.size() - 1; i >= 0; i--) {
+                int column = views.keyAt(i);
+                if (column < first || column > last) {
+                    View view = views.valueAt(i);
+                    views.removeAt(i);
+                    removeViewInLayout(view);
+                    adapter.onRecycle(column, view);
+                }
+            }
+        }
+    }
+}
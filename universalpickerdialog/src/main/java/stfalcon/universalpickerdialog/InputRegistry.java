@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Build;
+import android.support.v4.util.LruCache;
+
+/**
+ * Process-wide registry of shared {@link UniversalPickerDialog.Input}s addressable by id,
+ * so dialogs opened from different screens reuse one data set and one table of labels.
+ * Registered inputs are labeled once and can't be modified anymore.
+ * The registry is bounded by the estimated size of labels: the least recently used input is dropped first.
+ * It's thread-safe, so big inputs may be registered in background.
+ * */
+public final class InputRegistry {
+    private InputRegistry() { throw new AssertionError(); }
+
+    private static final int KILOBYTE = 1024;
+    private static final int DEFAULT_MAX_SIZE_KB = (int) (Runtime.getRuntime().maxMemory() / KILOBYTE / 16);
+
+    private static final LruCache<String, UniversalPickerDialog.Input> inputs =
+            new LruCache<String, UniversalPickerDialog.Input>(DEFAULT_MAX_SIZE_KB) {
+                @Override
+                protected int sizeOf(String id, UniversalPickerDialog.Input input) {
+                    return (int) Math.max(1, input.getSharedSizeBytes() / KILOBYTE);
+                }
+            };
+
+    private static boolean callbacksRegistered;
+
+    /**
+     * Computes labels of the {@link UniversalPickerDialog.Input} in the locale of the context,
+     * which dialogs created with it look them up in, makes the input immutable
+     * and registers it under the id, replacing an input registered before.
+     * Data sets which provide their own labels, such as a {@link stfalcon.universalpickerdialog.model.StringTable}, aren't labeled again.
+     * Dependent inputs can't be shared.
+     *
+     * @return the registered input
+     * */
+    public static UniversalPickerDialog.Input register(Context context, String id,
+                                                       UniversalPickerDialog.Input input) {
+        if (input.isDependent()) {
+            throw new IllegalArgumentException("Dependent inputs can't be shared");
+        }
+        input.share(id, context.getResources().getConfiguration().locale);
+        inputs.put(id, input);
+        return input;
+    }
+
+    /**
+     * @return input registered under the id, or null if it's not registered or has been dropped
+     * */
+    public static UniversalPickerDialog.Input get(String id) {
+        return inputs.get(id);
+    }
+
+    public static void remove(String id) {
+        inputs.remove(id);
+    }
+
+    public static void clear() {
+        inputs.evictAll();
+    }
+
+    /**
+     * Drops inputs according to memory pressure:
+     * <ul>
+     * <li>all of them for {@code TRIM_MEMORY_RUNNING_CRITICAL}, {@code TRIM_MEMORY_MODERATE}
+     * and {@code TRIM_MEMORY_COMPLETE};</li>
+     * <li>the least recently used ones, down to half the size of the registry,
+     * for {@code TRIM_MEMORY_RUNNING_LOW} and {@code TRIM_MEMORY_BACKGROUND};</li>
+     * <li>none for {@code TRIM_MEMORY_RUNNING_MODERATE} and {@code TRIM_MEMORY_UI_HIDDEN}.</li>
+     * </ul>
+     * Call it from {@link android.content.ComponentCallbacks2#onTrimMemory(int)},
+     * or use {@link #registerMemoryCallbacks(Context)}.
+     * */
+    public static void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            inputs.evictAll();
+        } else if (level == ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            inputs.trimToSize(inputs.size() / 2);
+        }
+    }
+
+    /**
+     * Makes the registry drop inputs on memory pressure automatically (since API 14)
+     * */
+    public static synchronized void registerMemoryCallbacks(Context context) {
+        if (callbacksRegistered || Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+            return;
+        }
+        context.getApplicationContext().registerComponentCallbacks(new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                InputRegistry.onTrimMemory(level);
+            }
+
+            @Override
+            public void onConfigurationChanged(Configuration newConfig) {
+            }
+
+            @Override
+            public void onLowMemory() {
+                inputs.evictAll();
+            }
+        });
+        callbacksRegistered = true;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+import stfalcon.universalpickerdialog.model.LabelProvider;
+
+/*
+ * Measures the widest label of a data set. Big data sets are sampled at evenly spaced positions,
+ * so measuring never costs more than MAX_MEASURED_LABELS labels.
+ * A new Paint is used for every measurement, so it's safe to call from any thread.
+ */
+final class LabelWidths {
+    private LabelWidths() { throw new AssertionError(); }
+
+    static final int MAX_MEASURED_LABELS = 1000;
+
+    static float measureWidest(LabelProvider labels, float textSize, Typeface typeface) {
+        return measureWidest(labels, 0, labels.size(), textSize, typeface);
+    }
+
+    /**
+     * Measures labels from start (inclusive) to end (exclusive) only
+     */
+    static float measureWidest(LabelProvider labels, int start, int end, float textSize, Typeface typeface) {
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(textSize);
+        paint.setTypeface(typeface);
+
+        int step = Math.max(1, (end - start) / MAX_MEASURED_LABELS);
+        float widest = 0;
+        for (int i = start; i < end; i += step) {
+            String label = labels.getLabel(i);
+            if (label != null) {
+                widest = Math.max(widest, paint.measureText(label));
+            }
+        }
+        return widest;
+    }
+}
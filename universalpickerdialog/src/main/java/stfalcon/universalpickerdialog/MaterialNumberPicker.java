@@ -18,17 +18,10 @@ package stfalcon.universalpickerdialog;
 
 import android.content.Context;
 import android.graphics.Color;
-import android.graphics.Paint;
-import android.graphics.drawable.ColorDrawable;
 import android.support.annotation.NonNull;
-import android.text.InputFilter;
 import android.util.AttributeSet;
-import android.view.View;
-import android.widget.EditText;
 import android.widget.NumberPicker;
 
-import java.lang.reflect.Field;
-
 /*
  * Created by Stephen Vinouze on 22/09/2015.
  */
@@ -60,20 +53,7 @@ public class MaterialNumberPicker extends NumberPicker {
 
     public MaterialNumberPicker(Builder builder) {
         super(builder.context);
-        initView();
-
-        mBuilder = builder;
-
-        setMinValue(builder.minValue);
-        setMaxValue(builder.maxValue);
-        setValue(builder.defaultValue);
-        setFormatter(builder.formatter);
-        setBackgroundColor(builder.backgroundColor);
-        setSeparatorColor(builder.separatorColor);
-        setTextColor(builder.textColor);
-        setTextSize(spToPixels(getContext(), builder.textSize));
-        setWrapSelectorWheel(builder.wrapSelectorWheel);
-        setFocusability(builder.enableFocusability);
+        bind(builder);
     }
 
     public final Builder getBuilder() {
@@ -84,6 +64,13 @@ public class MaterialNumberPicker extends NumberPicker {
         return mTextColor;
     }
 
+    /**
+     * @return text size in pixels
+     */
+    public float getTextSize() {
+        return mTextSize;
+    }
+
     public int getSeparatorColor() {
         return mSeparatorColor;
     }
@@ -102,20 +89,48 @@ public class MaterialNumberPicker extends NumberPicker {
         setMaxValue(MAX_VALUE);
         setValue(DEFAULT_VALUE);
         setBackgroundColor(BACKGROUND_COLOR);
-        setSeparatorColor(SEPARATOR_COLOR);
-        setTextColor(TEXT_COLOR);
-        setTextSize(TEXT_SIZE);
         setWrapSelectorWheel(false);
         setFocusability(false);
+        initStyle(TEXT_COLOR, TEXT_SIZE, SEPARATOR_COLOR);
+    }
 
-        try {
-            Field f = NumberPicker.class.getDeclaredField("mInputText");
-            f.setAccessible(true);
-            EditText inputText = (EditText)f.get(this);
-            inputText.setFilters(new InputFilter[0]);
-        } catch (NoSuchFieldException | IllegalAccessException | IllegalArgumentException e) {
-            e.printStackTrace();
-        }
+    /**
+     * Resets the picker to the state described by the builder, so an existing instance can be reused
+     * instead of creating a new one. The builder must have the same context as this picker.
+     */
+    void bind(Builder builder) {
+        mBuilder = builder;
+
+        // drop the formatter first, so the new range is never formatted by the previous one
+        setFormatter(null);
+        setDisplayedValues(null);
+        setMinValue(builder.minValue);
+        setMaxValue(builder.maxValue);
+        setValue(builder.defaultValue);
+        setFormatter(builder.formatter);
+        setBackgroundColor(builder.backgroundColor);
+        setWrapSelectorWheel(builder.wrapSelectorWheel);
+        setFocusability(builder.enableFocusability);
+        initStyle(builder.textColor, spToPixels(getContext(), builder.textSize), builder.separatorColor);
+    }
+
+    /**
+     * Drops the builder and the formatter of the picker, so a pooled instance doesn't keep the data set
+     * it was bound to
+     */
+    void unbind() {
+        mBuilder = null;
+        setFormatter(null);
+    }
+
+    /**
+     * Applies the edit text filter fix, text attributes and divider color in a single reflective pass
+     */
+    private void initStyle(int textColor, float textSize, int separatorColor) {
+        mTextColor = textColor;
+        mTextSize = textSize;
+        mSeparatorColor = separatorColor;
+        NumberPickerStyler.get().apply(this, textColor, textSize, separatorColor, getScaledDensity());
     }
 
     /**
@@ -124,19 +139,7 @@ public class MaterialNumberPicker extends NumberPicker {
      */
     public void setSeparatorColor(int separatorColor) {
         mSeparatorColor = separatorColor;
-
-        Field[] pickerFields = NumberPicker.class.getDeclaredFields();
-        for (Field pf : pickerFields) {
-            if (pf.getName().equals("mSelectionDivider")) {
-                pf.setAccessible(true);
-                try {
-                    pf.set(this, new ColorDrawable(separatorColor));
-                } catch (IllegalAccessException | IllegalArgumentException e) {
-                    e.printStackTrace();
-                }
-                break;
-            }
-        }
+        NumberPickerStyler.get().applySeparatorColor(this, separatorColor);
     }
 
     /**
@@ -156,29 +159,7 @@ public class MaterialNumberPicker extends NumberPicker {
     }
 
     private void updateTextAttributes() {
-        for (int i = 0; i < getChildCount(); i++){
-            View child = getChildAt(i);
-            if (child instanceof EditText) {
-                try {
-                    Field selectorWheelPaintField = NumberPicker.class.getDeclaredField("mSelectorWheelPaint");
-                    selectorWheelPaintField.setAccessible(true);
-
-                    Paint wheelPaint = ((Paint)selectorWheelPaintField.get(this));
-                    wheelPaint.setColor(mTextColor);
-                    wheelPaint.setTextSize(mTextSize);
-
-                    EditText editText = ((EditText) child);
-                    editText.setTextColor(mTextColor);
-                    editText.setTextSize(pixelsToSp(getContext(), mTextSize));
-
-                    invalidate();
-                    break;
-                }
-                catch (NoSuchFieldException | IllegalAccessException | IllegalArgumentException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
+        NumberPickerStyler.get().applyText(this, mTextColor, mTextSize, getScaledDensity());
     }
 
     private void setFocusability(boolean isFocusable) {
@@ -186,11 +167,11 @@ public class MaterialNumberPicker extends NumberPicker {
         setDescendantFocusability(isFocusable ? FOCUS_AFTER_DESCENDANTS : FOCUS_BLOCK_DESCENDANTS);
     }
 
-    private float pixelsToSp(Context context, float px) {
-        return px / context.getResources().getDisplayMetrics().scaledDensity;
+    private float getScaledDensity() {
+        return getContext().getResources().getDisplayMetrics().scaledDensity;
     }
 
-    private float spToPixels(Context context, float sp) {
+    private static float spToPixels(Context context, float sp) {
         return sp * context.getResources().getDisplayMetrics().scaledDensity;
     }
 
@@ -265,6 +246,10 @@ public class MaterialNumberPicker extends NumberPicker {
             return new MaterialNumberPicker(this);
         }
 
+        float getTextSizePixels() {
+            return spToPixels(context, textSize);
+        }
+
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.widget.NumberPicker;
+
+/*
+ * Collects lifecycle timings and per-column counters of a dialog for its MetricsListener.
+ * Created only when a listener is set, so a dialog without one doesn't pay for it.
+ * Timestamps come from System.nanoTime().
+ */
+final class MetricsRecorder {
+
+    private final UniversalPickerDialog.MetricsListener listener;
+    private final int key;
+    private final int[] formatterCalls;
+    private final long[] scrollStarts;
+    private final boolean[] flinging;
+    private long showNanos;
+
+    MetricsRecorder(UniversalPickerDialog.MetricsListener listener, int key, int columns) {
+        this.listener = listener;
+        this.key = key;
+        this.formatterCalls = new int[columns];
+        this.scrollStarts = new long[columns];
+        this.flinging = new boolean[columns];
+    }
+
+    static long now() {
+        return System.nanoTime();
+    }
+
+    NumberPicker.Formatter countCalls(final int column, final NumberPicker.Formatter formatter) {
+        return new NumberPicker.Formatter() {
+            @Override
+            public String format(int value) {
+                formatterCalls[column]++;
+                return formatter.format(value);
+            }
+        };
+    }
+
+    void onBuilt(long startNanos) {
+        listener.onBuilt(key, startNanos, now());
+    }
+
+    void onShowCalled() {
+        showNanos = now();
+    }
+
+    void onShown() {
+        listener.onShown(key, showNanos, now());
+    }
+
+    void onScrollStateChanged(int column, int oldState, int newState) {
+        if (oldState == NumberPicker.OnScrollListener.SCROLL_STATE_IDLE) {
+            scrollStarts[column] = now();
+            flinging[column] = false;
+        }
+        if (newState == NumberPicker.OnScrollListener.SCROLL_STATE_FLING) {
+            flinging[column] = true;
+        } else if (newState == NumberPicker.OnScrollListener.SCROLL_STATE_IDLE
+                && oldState != NumberPicker.OnScrollListener.SCROLL_STATE_IDLE) {
+            listener.onScroll(key, column, scrollStarts[column], now(), flinging[column]);
+        }
+    }
+
+    void onDismissed() {
+        for (int column = 0; column < formatterCalls.length; column++) {
+            listener.onFormatterCalls(key, column, formatterCalls[column]);
+            formatterCalls[column] = 0;
+        }
+    }
+}
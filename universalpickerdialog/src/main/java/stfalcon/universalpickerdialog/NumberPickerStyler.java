@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.graphics.Paint;
+import android.graphics.drawable.ColorDrawable;
+import android.text.InputFilter;
+import android.widget.EditText;
+import android.widget.NumberPicker;
+
+import java.lang.reflect.Field;
+
+/*
+ * Process-wide accessor for the private NumberPicker fields used for styling.
+ * NumberPicker is probed only once, on first use; the resolved fields are cached,
+ * and a field which can't be resolved on the current platform is recorded as null and skipped.
+ */
+final class NumberPickerStyler {
+
+    private static final InputFilter[] NO_FILTERS = new InputFilter[0];
+
+    private static int probeCount;
+
+    private final Field inputTextField;
+    private final Field selectionDividerField;
+    private final Field selectorWheelPaintField;
+
+    private NumberPickerStyler() {
+        probeCount++;
+        Field inputText = null;
+        Field selectionDivider = null;
+        Field selectorWheelPaint = null;
+
+        for (Field field : NumberPicker.class.getDeclaredFields()) {
+            switch (field.getName()) {
+                case "mInputText":
+                    inputText = makeAccessible(field);
+                    break;
+                case "mSelectionDivider":
+                    selectionDivider = makeAccessible(field);
+                    break;
+                case "mSelectorWheelPaint":
+                    selectorWheelPaint = makeAccessible(field);
+                    break;
+            }
+        }
+
+        this.inputTextField = inputText;
+        this.selectionDividerField = selectionDivider;
+        this.selectorWheelPaintField = selectorWheelPaint;
+    }
+
+    static NumberPickerStyler get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return how many times NumberPicker has been probed in this process, it's meant for tests
+     */
+    static int getProbeCount() {
+        return probeCount;
+    }
+
+    /**
+     * Applies text color, text size and divider color to the picker in a single pass.
+     * Also drops the input filters of the embedded edit text, see {@link MaterialNumberPicker}.
+     *
+     * @param textSize text size in pixels
+     */
+    void apply(NumberPicker picker, int textColor, float textSize, int separatorColor, float scaledDensity) {
+        EditText inputText = getInputText(picker);
+        if (inputText != null) {
+            inputText.setFilters(NO_FILTERS);
+        }
+        applySeparatorColor(picker, separatorColor);
+        applyText(picker, inputText, textColor, textSize, scaledDensity);
+    }
+
+    void applySeparatorColor(NumberPicker picker, int separatorColor) {
+        if (selectionDividerField == null) return;
+        try {
+            selectionDividerField.set(picker, new ColorDrawable(separatorColor));
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+    }
+
+    void applyText(NumberPicker picker, int textColor, float textSize, float scaledDensity) {
+        applyText(picker, getInputText(picker), textColor, textSize, scaledDensity);
+    }
+
+    private void applyText(NumberPicker picker, EditText inputText,
+                           int textColor, float textSize, float scaledDensity) {
+        if (selectorWheelPaintField != null) {
+            try {
+                Paint wheelPaint = (Paint) selectorWheelPaintField.get(picker);
+                wheelPaint.setColor(textColor);
+                wheelPaint.setTextSize(textSize);
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                e.printStackTrace();
+            }
+        }
+        if (inputText != null) {
+            inputText.setTextColor(textColor);
+            inputText.setTextSize(textSize / scaledDensity);
+        }
+        picker.invalidate();
+    }
+
+    private EditText getInputText(NumberPicker picker) {
+        if (inputTextField == null) return null;
+        try {
+            return (EditText) inputTextField.get(picker);
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static Field makeAccessible(Field field) {
+        try {
+            field.setAccessible(true);
+            return field;
+        } catch (SecurityException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static class Holder {
+        private static final NumberPickerStyler INSTANCE = new NumberPickerStyler();
+    }
+}
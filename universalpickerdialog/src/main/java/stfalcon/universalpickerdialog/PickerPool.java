@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Build;
+import android.os.Bundle;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/*
+ * Pool of MaterialNumberPickers keyed by Context, so dialogs which are shown again and again
+ * rebind existing pickers instead of inflating new ones.
+ * Pooled pickers hold their Context, so the pools of an Activity and of the wrappers of it (such as
+ * a ContextThemeWrapper) are released when it's destroyed
+ * (automatically since API 14, see UniversalPickerDialog.releasePickers(Context) for older versions).
+ * Recycled pickers drop their builder and formatter, so they don't keep the data set they showed.
+ * Must be used on the main thread only.
+ */
+final class PickerPool {
+    private PickerPool() { throw new AssertionError(); }
+
+    static final int MAX_POOL_SIZE = 8;
+
+    private static final Map<Context, ArrayDeque<MaterialNumberPicker>> pools = new HashMap<>();
+    private static boolean lifecycleCallbacksRegistered;
+
+    static MaterialNumberPicker obtain(Context context, MaterialNumberPicker.Builder builder) {
+        ArrayDeque<MaterialNumberPicker> pool = pools.get(context);
+        MaterialNumberPicker picker = pool != null ? pool.poll() : null;
+        if (picker == null) {
+            return builder.build();
+        }
+        picker.bind(builder);
+        return picker;
+    }
+
+    static void recycle(Context context, MaterialNumberPicker picker) {
+        ViewParent parent = picker.getParent();
+        if (parent instanceof ViewGroup) {
+            ((ViewGroup) parent).removeView(picker);
+        }
+        picker.unbind();
+        picker.setOnValueChangedListener(null);
+        picker.setOnScrollListener(null);
+
+        ArrayDeque<MaterialNumberPicker> pool = pools.get(context);
+        if (pool == null) {
+            pool = new ArrayDeque<>(MAX_POOL_SIZE);
+            pools.put(context, pool);
+            registerLifecycleCallbacks(context);
+        }
+        if (pool.size() < MAX_POOL_SIZE) {
+            pool.offer(picker);
+        }
+    }
+
+    /**
+     * Releases the pool of the context and, if it's an Activity, the pools of the contexts wrapping it
+     */
+    static void release(Context context) {
+        Iterator<Context> keys = pools.keySet().iterator();
+        while (keys.hasNext()) {
+            Context key = keys.next();
+            if (key == context || findActivity(key) == context) {
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * @return The Activity the context is or wraps, null for other contexts, e.g. the Application
+     */
+    static Activity findActivity(Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return (Activity) context;
+            }
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        return null;
+    }
+
+    private static void registerLifecycleCallbacks(Context context) {
+        Activity activity = findActivity(context);
+        if (lifecycleCallbacksRegistered
+                || activity == null
+                || Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+            return;
+        }
+        Application application = activity.getApplication();
+        if (application == null) return;
+
+        application.registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+            @Override
+            public void onActivityDestroyed(Activity activity) {
+                release(activity);
+            }
+
+            @Override
+            public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+            }
+
+            @Override
+            public void onActivityStarted(Activity activity) {
+            }
+
+            @Override
+            public void onActivityResumed(Activity activity) {
+            }
+
+            @Override
+            public void onActivityPaused(Activity activity) {
+            }
+
+            @Override
+            public void onActivityStopped(Activity activity) {
+            }
+
+            @Override
+            public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+            }
+        });
+        lifecycleCallbacksRegistered = true;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
+
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+
+import stfalcon.universalpickerdialog.model.LabelIndex;
+import stfalcon.universalpickerdialog.model.PagedList;
+
+/*
+ * Type-ahead search over labels of the dialog's Inputs.
+ * With an executor, label indices are built in background when the dialog is created; a query typed
+ * before the index of the active column is ready is applied as soon as it's built.
+ * Without one, the index of a column is built on the main thread when it's searched for the first time,
+ * since formatters aren't required to be thread-safe.
+ * Columns of DataSource based inputs aren't searchable: indexing would load every page.
+ */
+final class SearchController implements TextWatcher {
+
+    interface Target {
+        int getActiveColumn();
+
+        void jumpTo(int column, int position);
+    }
+
+    private final UniversalPickerDialog.Input[] inputs;
+    private final Target target;
+    private final Executor executor;
+    private final Locale locale;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final LabelIndex[] indices;
+    private final int[] generations;
+
+    private String query = "";
+    private boolean cancelled;
+
+    /**
+     * @param executor executor for building indices, or null to build them on the main thread when needed
+     */
+    SearchController(UniversalPickerDialog.Input[] inputs, Target target,
+                     Executor executor, Locale locale) {
+        this.inputs = inputs;
+        this.target = target;
+        this.executor = executor;
+        this.locale = locale;
+        this.indices = new LabelIndex[inputs.length];
+        this.generations = new int[inputs.length];
+    }
+
+    void start() {
+        if (executor == null) return;
+        for (int i = 0; i < inputs.length; i++) {
+            buildIndex(i);
+        }
+    }
+
+    /**
+     * Called when the data set of the column has been replaced
+     */
+    void onDataSetChanged(int column) {
+        indices[column] = null;
+        generations[column]++;
+        if (executor != null) {
+            buildIndex(column);
+        }
+    }
+
+    private boolean isSearchable(int column) {
+        return !(inputs[column].getList() instanceof PagedList);
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    private void buildIndex(final int column) {
+        if (!isSearchable(column)) return;
+        final UniversalPickerDialog.Input input = inputs[column];
+        final int generation = ++generations[column];
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (cancelled) return;
+                final LabelIndex index;
+                try {
+                    index = input.getLabelIndex(locale);
+                } catch (CancellationException e) {
+                    return;
+                }
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (cancelled || generation != generations[column]) return;
+                        indices[column] = index;
+                        if (column == target.getActiveColumn()) {
+                            apply();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private void apply() {
+        if (cancelled || query.isEmpty()) return;
+        int column = target.getActiveColumn();
+        if (column < 0 || column >= indices.length || !isSearchable(column)) return;
+        if (indices[column] == null) {
+            // with an executor the query is applied once the index is built
+            if (executor != null) return;
+            indices[column] = inputs[column].getLabelIndex(locale);
+        }
+
+        int position = indices[column].find(query);
+        if (position >= 0) {
+            target.jumpTo(column, position);
+        }
+    }
+
+    @Override
+    public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+    }
+
+    @Override
+    public void onTextChanged(CharSequence s, int start, int before, int count) {
+    }
+
+    @Override
+    public void afterTextChanged(Editable s) {
+        query = s.toString();
+        apply();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.view.MotionEvent;
+import android.view.ViewParent;
+import android.view.View;
+
+/*
+ * Vertical strip of section names shown next to a picker.
+ * Touching or dragging over it reports the section under the finger once per section change,
+ * so the picker jumps straight to it instead of scrolling through every row in between.
+ * When the sections don't fit the height, every n-th one is drawn, while all of them stay reachable.
+ */
+final class SectionScrubber extends View {
+
+    interface Listener {
+        void onSectionSelected(int section);
+    }
+
+    private static final float WIDTH_DP = 24f;
+    private static final float MAX_TEXT_SIZE_SP = 12f;
+    private static final float MIN_TEXT_SIZE_SP = 8f;
+    private static final float LINE_SPACING = 1.2f;
+
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final float density;
+    private final float maxTextSize;
+    private final float minTextSize;
+
+    private String[] sections = new String[0];
+    private Listener listener;
+    private int touchedSection = -1;
+
+    SectionScrubber(Context context) {
+        super(context);
+        this.density = getResources().getDisplayMetrics().density;
+        float scaledDensity = getResources().getDisplayMetrics().scaledDensity;
+        this.maxTextSize = MAX_TEXT_SIZE_SP * scaledDensity;
+        this.minTextSize = MIN_TEXT_SIZE_SP * scaledDensity;
+        paint.setTextAlign(Paint.Align.CENTER);
+    }
+
+    void setSections(String[] sections) {
+        this.sections = sections;
+        invalidate();
+    }
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    void setTextColor(int color) {
+        paint.setColor(color);
+        invalidate();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = (int) (WIDTH_DP * density) + getPaddingLeft() + getPaddingRight();
+        setMeasuredDimension(
+                resolveSize(width, widthMeasureSpec),
+                resolveSize(getPaddingTop() + getPaddingBottom(), heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        int count = sections.length;
+        if (count == 0) return;
+
+        float slot = getSlotHeight();
+        float textSize = Math.min(maxTextSize, slot / LINE_SPACING);
+        int step = 1;
+        if (textSize < minTextSize) {
+            textSize = minTextSize;
+            step = (int) Math.ceil(minTextSize * LINE_SPACING / slot);
+        }
+        paint.setTextSize(textSize);
+
+        float x = getPaddingLeft() + (getWidth() - getPaddingLeft() - getPaddingRight()) / 2f;
+        float baselineOffset = -(paint.descent() + paint.ascent()) / 2f;
+        for (int i = 0; i < count; i += step) {
+            float y = getPaddingTop() + slot * (i + 0.5f) + baselineOffset;
+            canvas.drawText(sections[i], x, y, paint);
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (sections.length == 0) return false;
+
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                ViewParent parent = getParent();
+                if (parent != null) {
+                    // keep a scrolling container from taking the gesture over
+                    parent.requestDisallowInterceptTouchEvent(true);
+                }
+                // fall through
+            case MotionEvent.ACTION_MOVE:
+                int section = (int) ((event.getY() - getPaddingTop()) / getSlotHeight());
+                section = Math.max(0, Math.min(sections.length - 1, section));
+                if (section != touchedSection) {
+                    touchedSection = section;
+                    if (listener != null) {
+                        listener.onSectionSelected(section);
+                    }
+                }
+                return true;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                touchedSection = -1;
+                return true;
+        }
+        return super.onTouchEvent(event);
+    }
+
+    private float getSlotHeight() {
+        return Math.max(1f, (float) (getHeight() - getPaddingTop() - getPaddingBottom()) / sections.length);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.os.Build;
+import android.view.View;
+
+/*
+ * Delivers live selection changes to OnSelectionChangeListener, coalescing intermediate values:
+ * at most one update per frame, or only after the wheel settles.
+ * A selection equal to the last delivered one is not delivered again.
+ * The same buffer is passed to every call, so delivering doesn't allocate.
+ */
+final class SelectionDispatcher implements Runnable {
+
+    private static final long FRAME_MILLIS = 16;
+
+    interface Source {
+        void getSelectedPositions(int[] positions);
+    }
+
+    private final UniversalPickerDialog.OnSelectionChangeListener listener;
+    private final int key;
+    private final boolean waitForSettle;
+    private final Source source;
+    private final int[] positions;
+    private final int[] deliveredPositions;
+
+    private View view;
+    private boolean scheduled;
+    private boolean pending;
+    private boolean delivered;
+
+    SelectionDispatcher(UniversalPickerDialog.OnSelectionChangeListener listener, int key,
+                        boolean waitForSettle, Source source, int columns) {
+        this.listener = listener;
+        this.key = key;
+        this.waitForSettle = waitForSettle;
+        this.source = source;
+        this.positions = new int[columns];
+        this.deliveredPositions = new int[columns];
+    }
+
+    /**
+     * @param view view which frames are used for scheduling
+     */
+    void attach(View view) {
+        this.view = view;
+    }
+
+    void onValueChanged(boolean scrolling) {
+        if (waitForSettle && scrolling) {
+            pending = true;
+        } else {
+            schedule();
+        }
+    }
+
+    void onScrollIdle() {
+        if (pending) {
+            pending = false;
+            schedule();
+        }
+    }
+
+    void cancel() {
+        pending = false;
+        if (scheduled && view != null) {
+            view.removeCallbacks(this);
+        }
+        scheduled = false;
+    }
+
+    private void schedule() {
+        if (scheduled || view == null) return;
+        scheduled = true;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            view.postOnAnimation(this);
+        } else {
+            view.postDelayed(this, FRAME_MILLIS);
+        }
+    }
+
+    @Override
+    public void run() {
+        scheduled = false;
+        source.getSelectedPositions(positions);
+        if (delivered && equal(positions, deliveredPositions)) return;
+
+        System.arraycopy(positions, 0, deliveredPositions, 0, positions.length);
+        delivered = true;
+        listener.onSelectionChanged(positions, key);
+    }
+
+    private static boolean equal(int[] a, int[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) return false;
+        }
+        return true;
+    }
+}
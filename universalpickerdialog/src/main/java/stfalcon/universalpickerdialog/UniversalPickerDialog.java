@@ -19,44 +19,125 @@ package stfalcon.universalpickerdialog;
 import android.content.Context;
 import android.content.DialogInterface;
 import android.graphics.Color;
+import android.graphics.Typeface;
 import android.graphics.drawable.ColorDrawable;
 import android.support.annotation.ColorInt;
 import android.support.annotation.ColorRes;
 import android.support.annotation.StringRes;
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Parcel;
+import android.os.Parcelable;
 import android.support.v7.app.AlertDialog;
 import android.text.Spannable;
+import android.text.InputType;
 import android.text.SpannableString;
 import android.text.style.ForegroundColorSpan;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.EditText;
 import android.widget.LinearLayout;
 import android.widget.NumberPicker;
 
 import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import stfalcon.universalpickerdialog.model.ArrayViews;
+import stfalcon.universalpickerdialog.model.CalendarColumn;
+import stfalcon.universalpickerdialog.model.Column;
+import stfalcon.universalpickerdialog.model.ConstraintEngine;
+import stfalcon.universalpickerdialog.model.DataSource;
+import stfalcon.universalpickerdialog.model.DateTimeController;
+import stfalcon.universalpickerdialog.model.IntRange;
+import stfalcon.universalpickerdialog.model.LabelFormatter;
+import stfalcon.universalpickerdialog.model.LabelIndex;
+import stfalcon.universalpickerdialog.model.LabelPrefetcher;
+import stfalcon.universalpickerdialog.model.LabelProvider;
+import stfalcon.universalpickerdialog.model.ListDiff;
+import stfalcon.universalpickerdialog.model.PagedList;
+import stfalcon.universalpickerdialog.model.SectionIndex;
+import stfalcon.universalpickerdialog.model.Selection;
+import stfalcon.universalpickerdialog.model.SelectionState;
 
 /*
  * Created by troy379 on 23.08.16.
  */
 public class UniversalPickerDialog
-        implements DialogInterface.OnShowListener {
+        implements DialogInterface.OnShowListener, DialogInterface.OnDismissListener,
+        NumberPicker.OnValueChangeListener, NumberPicker.OnScrollListener {
+
+    private static final float COLUMN_PADDING_DP = 16f;
 
     protected Builder builder;
     protected ArrayList<MaterialNumberPicker> pickers;
     protected AlertDialog dialog;
-    private LinearLayout layout;
+    private ViewGroup layout;
+    private int[] scrollStates;
+    private Selection selected;
+    /* positions of the selected items, the array of {@link #selected} which pickers and controllers share */
+    private int[] positions;
+    private ColumnScroller columnScroller;
+    private ArrayDeque<MaterialNumberPicker> scrapPickers;
+    private SectionScrubber[] scrubbers;
+    private SectionIndex[] sectionIndices;
+    private int[] sectionGenerations;
+    private LabelPrefetcher labelPrefetcher;
+    private CascadeController cascade;
+    private SearchController search;
+    private int activeColumn;
+    private MetricsRecorder metrics;
+    private SelectionDispatcher selection;
+    private Result result;
+    private Locale locale;
+    private ConstraintEngine constraints;
+    private boolean applyingConstraints;
+    private boolean pickersRecycled;
+    private final Handler handler = new Handler(Looper.getMainLooper());
 
     protected UniversalPickerDialog(Builder builder) {
+        long startNanos = MetricsRecorder.now();
         this.builder = builder;
+        this.locale = builder.getLocale();
 
+        if (builder.metricsListener != null) {
+            metrics = new MetricsRecorder(builder.metricsListener, builder.key,
+                    builder.inputs != null ? builder.inputs.length : 0);
+        }
         initPickers(builder.inputs);
+        result = new Result(builder.inputs, builder.dateTime);
+        initCascade(builder.inputs);
+        initSelectionDispatcher();
+        initDateTime();
+        initConstraints(builder.inputs);
+        initLabelPrefetcher(builder.inputs);
+        if (builder.searchEnabled) {
+            initSearch();
+        }
         createView();
         createDialog();
+
+        if (selection != null) {
+            selection.attach(layout);
+        }
+        if (metrics != null) {
+            metrics.onBuilt(startNanos);
+        }
     }
 
     /**
      * Displays the dialog
      * */
     public void show() {
+        if (metrics != null) {
+            metrics.onShowCalled();
+        }
         dialog.show();
     }
 
@@ -64,24 +145,300 @@ public class UniversalPickerDialog
      * Cancel the dialog
      * */
     public void cancel() {
+        if (labelPrefetcher != null) {
+            labelPrefetcher.cancel();
+        }
         dialog.cancel();
     }
 
+    /**
+     * Replaces data set of the column while the dialog is shown, e.g. when availability of items changes.
+     * The selected item stays selected (items are matched by equals()), or if it's been removed,
+     * the nearest item which is still there is selected. Nothing is redrawn if the items are the same.
+     * Only the picker of the column is updated, columns which depend on it follow the new selection.
+     * If a {@link NumberPicker.Formatter} is set to the {@link Input}, it must format items of the new list.
+     * Must be called on the main thread. Updates are ignored once the dialog has been dismissed
+     * with {@link Builder#setRecyclePickers(boolean)} enabled, as it can't be shown again.
+     *
+     * @param column index of the column
+     * @param list new data set of the column, must not be empty
+     * */
+    public void updateInput(int column, AbstractList<?> list) {
+        if (list == null || list.isEmpty()) {
+            throw new IllegalArgumentException("Data set of the column must not be empty");
+        }
+        if (pickersRecycled) return;
+
+        Input input = builder.inputs[column];
+        if (input.isDependent() || builder.dateTime != null) {
+            throw new IllegalStateException("Data sets of dependent and date inputs are updated by the dialog");
+        }
+        input.checkNotFrozen();
+
+        AbstractList<?> oldList = input.getList();
+        if (ListDiff.isSame(oldList, list)) return;
+
+        rebindPicker(column, list, ListDiff.findNewPosition(oldList, positions[column], list));
+        dispatchValueChanged(column, false);
+    }
+
+    /**
+     * Replaces data set of the column while the dialog is shown
+     *
+     * @see #updateInput(int, AbstractList)
+     * */
+    public <T> void updateInput(int column, T[] array) {
+        updateInput(column, new ArrayViews.ObjectArrayView<>(array));
+    }
+
+    /**
+     * Saves the key of the dialog, identities of its {@link Input}s and selected positions,
+     * so the dialog can be recreated with the same selection after a configuration change.
+     * Put it into the Activity's saved state and pass it to {@link Builder#setSavedState(Parcelable)}.
+     * */
+    public Parcelable onSaveInstanceState() {
+        Input[] inputs = builder.inputs != null ? builder.inputs : new Input[0];
+        String[] ids = new String[inputs.length];
+        int[] sizes = new int[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            ids[i] = inputs[i].getColumn().getId();
+            sizes[i] = inputs[i].getList().size();
+        }
+        return new SavedState(new SelectionState(builder.key, ids, sizes, getSelectedPositions()));
+    }
+
+    /**
+     * Releases {@link MaterialNumberPicker}s kept for reuse by dialogs created with the given context.
+     * Releasing an Activity also releases pickers of the contexts wrapping it, e.g. a ContextThemeWrapper.
+     * Since API 14 it's done automatically when an Activity is destroyed. Pickers created with
+     * a context which doesn't wrap an Activity, such as the Application, are kept until released here.
+     *
+     * @see Builder#setRecyclePickers(boolean)
+     * */
+    public static void releasePickers(Context context) {
+        PickerPool.release(context);
+    }
+
     private void initPickers(Input... inputs) {
-        this.pickers = new ArrayList<>();
-        if (inputs != null) {
-            for (Input input : inputs) {
-                pickers.add(getPicker(input));
+        int count = inputs != null ? inputs.length : 0;
+        this.pickers = new ArrayList<>(count);
+        this.scrollStates = new int[count];
+        Column[] columns = new Column[count];
+        for (int column = 0; column < count; column++) {
+            columns[column] = inputs[column].getColumn();
+        }
+        this.selected = new Selection(columns);
+        this.positions = selected.getPositions();
+        this.scrubbers = new SectionScrubber[count];
+        this.sectionIndices = new SectionIndex[count];
+        this.sectionGenerations = new int[count];
+        for (int column = 0; column < count; column++) {
+            Input input = inputs[column];
+            if (input.isDependent()) {
+                input.setList(input.resolve(Arrays.copyOf(positions, column)));
+            }
+            if (builder.dateTime != null) {
+                // months and days follow the year and month restored before them
+                builder.dateTime.updateBounds(column, positions);
+            }
+            positions[column] = Math.min(getDefaultPosition(column, input), input.getList().size() - 1);
+            // in the scrolling mode pickers are created for visible columns only, see createScrollingView()
+            pickers.add(builder.visibleColumns > 0 ? null : getPicker(column, input));
+        }
+    }
+
+    private void initCascade(Input... inputs) {
+        if (CascadeController.hasDependentInputs(inputs)) {
+            cascade = new CascadeController(inputs, new CascadeController.Binder() {
+                @Override
+                public int getPosition(int column) {
+                    return positions[column];
+                }
+
+                @Override
+                public void rebind(int column, AbstractList<?> list, int position) {
+                    rebindPicker(column, list, position);
+                }
+            }, builder.dependencyExecutor);
+        }
+    }
+
+    private void initDateTime() {
+        if (builder.dateTime == null) return;
+
+        builder.dateTime.setBinder(new DateTimeController.Binder() {
+            @Override
+            public int getPosition(int column) {
+                return positions[column];
+            }
+
+            @Override
+            public void onBoundsChanged(int column, int position) {
+                rebindPicker(column, builder.inputs[column].getList(), position);
+            }
+        });
+    }
+
+    private void initConstraints(final Input... inputs) {
+        if (builder.constraints == null || inputs == null) return;
+
+        int[] sizes = new int[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            sizes[i] = inputs[i].getList().size();
+        }
+        constraints = new ConstraintEngine(sizes);
+        for (final ColumnConstraint constraint : builder.constraints) {
+            constraints.add(constraint.first, constraint.second, new ConstraintEngine.Relation() {
+                @Override
+                public boolean allows(int firstPosition, int secondPosition) {
+                    return constraint.isAllowed(
+                            inputs[constraint.first].getItem(firstPosition),
+                            inputs[constraint.second].getItem(secondPosition));
+                }
+            });
+        }
+        applyConstraints(-1);
+    }
+
+    /**
+     * Moves settled columns, except the changed one, to their nearest allowed positions
+     * */
+    private void applyConstraints(int changedColumn) {
+        if (constraints == null || applyingConstraints) return;
+
+        applyingConstraints = true;
+        try {
+            for (int column = 0; column < positions.length; column++) {
+                if (column != changedColumn && scrollStates[column] == SCROLL_STATE_IDLE) {
+                    moveToAllowedPosition(column);
+                }
             }
+        } finally {
+            applyingConstraints = false;
+        }
+    }
+
+    /**
+     * Moves all columns, including the ones still scrolling, to their nearest allowed positions
+     * */
+    private void enforceConstraints() {
+        if (constraints == null) return;
+
+        applyingConstraints = true;
+        try {
+            for (int column = 0; column < positions.length; column++) {
+                moveToAllowedPosition(column);
+            }
+        } finally {
+            applyingConstraints = false;
+        }
+    }
+
+    private void moveToAllowedPosition(int column) {
+        int position = constraints.findNearestAllowed(column, positions[column], positions);
+        if (position >= 0 && position != positions[column]) {
+            setPosition(column, position);
+            dispatchValueChanged(column, false);
+        }
+    }
+
+    private void initLabelPrefetcher(Input... inputs) {
+        if (builder.labelExecutor == null || inputs == null) return;
+
+        labelPrefetcher = new LabelPrefetcher(inputs.length, builder.labelExecutor);
+        for (int column = 0; column < inputs.length; column++) {
+            setPrefetchedLabels(column, inputs[column]);
+        }
+    }
+
+    private void setPrefetchedLabels(int column, Input input) {
+        // prefetching a paged list would load pages the wheel doesn't show and evict the ones it does
+        LabelProvider labels = input.getList() instanceof PagedList ? null : input.getLabels(locale);
+        labelPrefetcher.setLabels(column, labels, positions[column]);
+    }
+
+    private void initSelectionDispatcher() {
+        if (builder.selectionChangeListener == null) return;
+
+        selection = new SelectionDispatcher(builder.selectionChangeListener, builder.key,
+                builder.selectionChangeOnSettle, new SelectionDispatcher.Source() {
+            @Override
+            public void getSelectedPositions(int[] selectedPositions) {
+                System.arraycopy(positions, 0, selectedPositions, 0, positions.length);
+            }
+        }, positions.length);
+    }
+
+    private int[] getSelectedPositions() {
+        return positions.clone();
+    }
+
+    /**
+     * Selects the position in the column, whether it has a picker at the moment or not
+     * */
+    private void setPosition(int column, int position) {
+        positions[column] = position;
+        MaterialNumberPicker picker = pickers.get(column);
+        if (picker != null) {
+            picker.setValue(position);
+        }
+    }
+
+    /**
+     * Replaces data set of the column keeping the dialog and the picker itself
+     * */
+    private void rebindPicker(int column, AbstractList<?> list, int position) {
+        Input input = builder.inputs[column];
+        MaterialNumberPicker picker = pickers.get(column);
+
+        positions[column] = position;
+        if (picker == null) {
+            input.setList(list);
+        } else {
+            // drop the formatter first, so the old range is never formatted with the new list
+            picker.setFormatter(null);
+            input.setList(list);
+            picker.setMaxValue(list.size() - 1);
+            picker.setValue(position);
+            picker.setFormatter(createFormatter(column, input));
+        }
+
+        if (labelPrefetcher != null) {
+            setPrefetchedLabels(column, input);
+        }
+        if (scrubbers[column] != null) {
+            scrubbers[column].setSections(new String[0]);
+        }
+        if (sectionGenerations[column] != 0) {
+            loadSections(column);
+        }
+        if (constraints != null) {
+            constraints.setSize(column, list.size());
+        }
+        if (search != null) {
+            search.onDataSetChanged(column);
+        }
+        if (selection != null) {
+            selection.onValueChanged(false);
         }
     }
 
     private MaterialNumberPicker
-    getPicker(final Input input) {
+    getPicker(int column, final Input input) {
+        MaterialNumberPicker.Builder builder = getPickerBuilder(column, input);
+        MaterialNumberPicker picker = this.builder.recyclePickers
+                ? PickerPool.obtain(this.builder.context, builder)
+                : builder.build();
+        picker.setOnValueChangedListener(this);
+        picker.setOnScrollListener(this);
+        return picker;
+    }
+
+    private MaterialNumberPicker.Builder getPickerBuilder(int column, Input input) {
         MaterialNumberPicker.Builder builder = new MaterialNumberPicker.Builder(this.builder.context);
         builder.minValue(0);
-        builder.maxValue(input.list.size() - 1);
-        builder.defaultValue(input.defaultPosition);
+        builder.maxValue(input.getList().size() - 1);
+        builder.defaultValue(positions[column]);
         builder.wrapSelectorWheel(true);
         builder.backgroundColor(Color.TRANSPARENT);
 
@@ -92,22 +449,96 @@ public class UniversalPickerDialog
             builder.textColor(this.builder.contentTextColor);
         }
 
-        if (input.formatter != null) {
-            builder.formatter(input.formatter);
-        } else {
-            builder.formatter(new NumberPicker.Formatter() {
-                @Override
-                public String format(int value) {
-                    return input.list.get(value).toString();
+        builder.formatter(createFormatter(column, input));
+        return builder;
+    }
+
+    /**
+     * @return position saved in {@link Builder#setSavedState(Parcelable)} if it belongs to the same input,
+     * or the default position of the input
+     * */
+    private int getDefaultPosition(int column, Input input) {
+        SavedState state = builder.savedState;
+        Column model = input.getColumn();
+        if (state == null) return model.getDefaultPosition();
+        return state.selection.getPosition(builder.key, builder.inputs.length,
+                column, model.getId(), model.getList().size(), model.getDefaultPosition());
+    }
+
+    private NumberPicker.Formatter createFormatter(int column, Input input) {
+        NumberPicker.Formatter formatter = createLabelFormatter(input);
+        return metrics != null ? metrics.countCalls(column, formatter) : formatter;
+    }
+
+    private NumberPicker.Formatter createLabelFormatter(Input input) {
+        final LabelProvider labels = input.getLabels(locale);
+        return new NumberPicker.Formatter() {
+            @Override
+            public String format(int value) {
+                return labels.getLabel(value);
+            }
+        };
+    }
+
+    private void initSearch() {
+        Input[] inputs = builder.inputs != null ? builder.inputs : new Input[0];
+        search = new SearchController(inputs, new SearchController.Target() {
+            @Override
+            public int getActiveColumn() {
+                return activeColumn;
+            }
+
+            @Override
+            public void jumpTo(int column, int position) {
+                setPosition(column, position);
+                if (columnScroller != null) {
+                    columnScroller.showColumn(column);
                 }
-            });
+                dispatchValueChanged(column, false);
+            }
+        }, builder.labelExecutor, locale);
+        search.start();
+    }
+
+    private View createSearchField() {
+        EditText searchField = new EditText(builder.context);
+        searchField.setSingleLine(true);
+        searchField.setInputType(InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_NO_SUGGESTIONS);
+        if (builder.searchHint != null) {
+            searchField.setHint(builder.searchHint);
+        }
+        if (builder.contentTextColor != 0) {
+            searchField.setTextColor(builder.contentTextColor);
         }
+        searchField.addTextChangedListener(search);
+        return searchField;
+    }
 
-        return builder.build();
+    private View createContentView() {
+        if (search == null) {
+            return layout;
+        }
+
+        LinearLayout content = new LinearLayout(builder.context);
+        content.setOrientation(LinearLayout.VERTICAL);
+        content.addView(createSearchField(), new LinearLayout.LayoutParams(
+                LinearLayout.LayoutParams.MATCH_PARENT,
+                LinearLayout.LayoutParams.WRAP_CONTENT));
+        content.addView(layout);
+        return content;
     }
 
     private void createView() {
-        layout = new LinearLayout(builder.context);
+        if (builder.visibleColumns > 0) {
+            createScrollingView();
+            return;
+        }
+        if (builder.fitColumnsToContent) {
+            createColumnLayout();
+            return;
+        }
+
+        LinearLayout layout = new LinearLayout(builder.context);
         layout.setOrientation(LinearLayout.HORIZONTAL);
 
         LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(
@@ -117,21 +548,195 @@ public class UniversalPickerDialog
         layout.setWeightSum((float)pickers.size());
         layout.setLayoutParams(params);
 
-        for (MaterialNumberPicker picker : pickers) {
+        for (int column = 0; column < pickers.size(); column++) {
+            View view = getColumnView(column, pickers.get(column));
             LinearLayout.LayoutParams pickerParams = new LinearLayout.LayoutParams(0,
                     LinearLayout.LayoutParams.WRAP_CONTENT);
 
             pickerParams.weight = 1.0f;
-            picker.setLayoutParams(pickerParams);
+            view.setLayoutParams(pickerParams);
+
+            layout.addView(view);
+        }
+        this.layout = layout;
+    }
+
+    private void createColumnLayout() {
+        ColumnLayout layout = new ColumnLayout(builder.context);
+        layout.setLayoutParams(new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        for (int column = 0; column < pickers.size(); column++) {
+            View view = getColumnView(column, pickers.get(column));
+            view.setLayoutParams(new ViewGroup.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT,
+                    ViewGroup.LayoutParams.WRAP_CONTENT));
+            layout.addView(view);
+        }
+        this.layout = layout;
 
-            layout.addView(picker);
+        if (!pickers.isEmpty()) {
+            measureColumns(layout);
+        }
+    }
+
+    /**
+     * @return the picker itself, or the picker with {@link SectionScrubber} if its {@link Input} has sections
+     * */
+    private View getColumnView(final int column, MaterialNumberPicker picker) {
+        Input input = builder.inputs[column];
+        if (!input.hasSections()) return picker;
+
+        SectionScrubber scrubber = new SectionScrubber(builder.context);
+        if (sectionIndices[column] != null) {
+            scrubber.setSections(sectionIndices[column].getSections());
+        } else if (sectionGenerations[column] == 0) {
+            loadSections(column);
+        }
+        scrubber.setTextColor(picker.getTextColor());
+        scrubber.setListener(new SectionScrubber.Listener() {
+            @Override
+            public void onSectionSelected(int section) {
+                jumpToSection(column, section);
+            }
+        });
+        scrubbers[column] = scrubber;
+
+        LinearLayout view = new LinearLayout(builder.context);
+        view.setOrientation(LinearLayout.HORIZONTAL);
+        view.addView(picker, new LinearLayout.LayoutParams(0, LinearLayout.LayoutParams.WRAP_CONTENT, 1f));
+        view.addView(scrubber, new LinearLayout.LayoutParams(
+                LinearLayout.LayoutParams.WRAP_CONTENT, LinearLayout.LayoutParams.MATCH_PARENT));
+        return view;
+    }
+
+    /**
+     * Builds the section index of the column on the executor for labels, or on the main thread
+     * once the dialog is created, and shows it in the scrubber of the column when it's ready
+     * */
+    private void loadSections(final int column) {
+        final Input input = builder.inputs[column];
+        final int generation = ++sectionGenerations[column];
+        sectionIndices[column] = null;
+        if (!input.hasSections()) return;
+
+        Runnable load = new Runnable() {
+            @Override
+            public void run() {
+                final SectionIndex index = input.getSectionIndex(locale);
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != sectionGenerations[column]) return;
+                        sectionIndices[column] = index;
+                        if (scrubbers[column] != null) {
+                            scrubbers[column].setSections(index.getSections());
+                        }
+                    }
+                });
+            }
+        };
+        // formatters are called off the main thread only if it's been allowed
+        if (builder.labelExecutor != null) {
+            builder.labelExecutor.execute(load);
+        } else {
+            handler.post(load);
+        }
+    }
+
+    private void jumpToSection(int column, int section) {
+        SectionIndex index = sectionIndices[column];
+        if (index == null || section >= index.getSections().length) return;
+
+        activeColumn = column;
+        setPosition(column, index.getPositionForSection(section));
+        dispatchValueChanged(column, false);
+    }
+
+    /**
+     * Creates horizontally scrolling columns, of which only the visible ones have pickers.
+     * Pickers of columns scrolled out are rebound to the columns scrolled in,
+     * while the selection of every column is kept in {@link #positions}.
+     * */
+    private void createScrollingView() {
+        scrapPickers = new ArrayDeque<>();
+        columnScroller = new ColumnScroller(builder.context, positions.length, builder.visibleColumns,
+                new ColumnScroller.Adapter() {
+                    @Override
+                    public View getView(int column) {
+                        Input input = builder.inputs[column];
+                        MaterialNumberPicker picker = scrapPickers.poll();
+                        if (picker == null) {
+                            picker = getPicker(column, input);
+                        } else {
+                            picker.bind(getPickerBuilder(column, input));
+                        }
+                        pickers.set(column, picker);
+                        return getColumnView(column, picker);
+                    }
+
+                    @Override
+                    public void onRecycle(int column, View view) {
+                        MaterialNumberPicker picker = pickers.get(column);
+                        if (view != picker) {
+                            ((ViewGroup) view).removeView(picker);
+                            scrubbers[column] = null;
+                        }
+                        boolean scrolling = scrollStates[column] != SCROLL_STATE_IDLE;
+                        if (scrolling) {
+                            onScrollStateChange(picker, SCROLL_STATE_IDLE);
+                        }
+                        pickers.set(column, null);
+                        // a picker detached mid-fling may still move its wheel, so it isn't reused
+                        if (!scrolling) {
+                            scrapPickers.add(picker);
+                        }
+                    }
+                });
+        columnScroller.setLayoutParams(new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT));
+        this.layout = columnScroller;
+    }
+
+    /**
+     * Measures the widest label of each {@link Input} on the executor for labels, or on the main thread
+     * once the dialog is created, and gives each column a share of the width proportional to it.
+     * Widths are cached by {@link Input}s.
+     * */
+    private void measureColumns(final ColumnLayout layout) {
+        final Input[] inputs = builder.inputs;
+        final float textSize = pickers.get(0).getTextSize();
+        final float padding = COLUMN_PADDING_DP * builder.context.getResources().getDisplayMetrics().density;
+
+        Runnable measure = new Runnable() {
+            @Override
+            public void run() {
+                final float[] weights = new float[inputs.length];
+                for (int i = 0; i < inputs.length; i++) {
+                    weights[i] = inputs[i].getWidestLabelWidth(locale, textSize, null) + padding;
+                }
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        layout.setWeights(weights);
+                    }
+                });
+            }
+        };
+        // formatters are called off the main thread only if it's been allowed
+        if (builder.labelExecutor != null) {
+            builder.labelExecutor.execute(measure);
+        } else {
+            handler.post(measure);
         }
     }
 
     protected void createDialog() {
         this.dialog = new AlertDialog.Builder(builder.context)
                 .setTitle(getTitle())
-                .setView(layout)
+                .setView(createContentView())
                 .setCancelable(true)
                 .setNegativeButton(
                         getNegativeButtonText(),
@@ -146,12 +751,14 @@ public class UniversalPickerDialog
                         new DialogInterface.OnClickListener() {
                             @Override
                             public void onClick(DialogInterface dialog, int which) {
-                                int[] selectedValues = new int[pickers.size()];
-                                for (int i = 0; i < selectedValues.length; i++) {
-                                    selectedValues[i] = pickers.get(i).getValue();
-                                }
+                                enforceConstraints();
+                                result.update(selected);
                                 if (builder.listener != null)
-                                    builder.listener.onPick(selectedValues, builder.key);
+                                    builder.listener.onPick(getSelectedPositions(), builder.key);
+                                if (builder.valueListener != null)
+                                    builder.valueListener.onValuePick(result.getValues(), builder.key);
+                                if (builder.resultListener != null)
+                                    builder.resultListener.onResult(result, builder.key);
                             }
                         })
                 .create();
@@ -160,100 +767,740 @@ public class UniversalPickerDialog
             dialog.getWindow().setBackgroundDrawable(new ColorDrawable(builder.backgroundColor));
         }
 
-        dialog.setOnShowListener(this);
-
-    }
+        dialog.setOnShowListener(this);
+        dialog.setOnDismissListener(this);
+
+    }
+
+    private Spannable getTitle() {
+        Spannable title = null;
+        if (builder.title != null) {
+            title = new SpannableString(builder.title);
+            if (builder.titleColor != 0) {
+                title.setSpan(
+                        new ForegroundColorSpan(builder.titleColor),
+                        0, title.length(),
+                        Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
+            }
+        }
+        return title;
+    }
+
+    private String getNegativeButtonText() {
+        return builder.negativeButtonText != null
+                ? builder.negativeButtonText
+                : builder.context.getString(android.R.string.cancel);
+    }
+
+    private String getPositiveButtonText() {
+        return builder.positiveButtonText != null
+                ? builder.positiveButtonText
+                : builder.context.getString(android.R.string.ok);
+    }
+
+    @Override
+    public void onShow(DialogInterface dialog) {
+        if (metrics != null) {
+            metrics.onShown();
+        }
+        if (builder.negativeButtonColor != 0) {
+            this.dialog.getButton(DialogInterface.BUTTON_NEGATIVE)
+                    .setTextColor(builder.negativeButtonColor);
+        }
+        if (builder.positiveButtonColor != 0) {
+            this.dialog.getButton(DialogInterface.BUTTON_POSITIVE)
+                    .setTextColor(builder.positiveButtonColor);
+        }
+    }
+
+    @Override
+    public void onValueChange(NumberPicker picker, int oldVal, int newVal) {
+        int column = pickers.indexOf(picker);
+        if (column < 0) return;
+
+        positions[column] = newVal;
+        activeColumn = column;
+        dispatchValueChanged(column, scrollStates[column] != SCROLL_STATE_IDLE);
+    }
+
+    private void dispatchValueChanged(int column, boolean scrolling) {
+        applyConstraints(column);
+        if (labelPrefetcher != null) {
+            labelPrefetcher.onPositionChanged(column, positions[column]);
+        }
+        if (builder.dateTime != null) {
+            builder.dateTime.onValueChanged(column);
+        }
+        if (cascade != null) {
+            cascade.onValueChanged(column, scrolling);
+        }
+        if (selection != null) {
+            selection.onValueChanged(scrolling);
+        }
+    }
+
+    @Override
+    public void onScrollStateChange(NumberPicker picker, int scrollState) {
+        int column = pickers.indexOf(picker);
+        if (column < 0) return;
+
+        if (metrics != null) {
+            metrics.onScrollStateChanged(column, scrollStates[column], scrollState);
+        }
+        activeColumn = column;
+        scrollStates[column] = scrollState;
+        if (scrollState == SCROLL_STATE_IDLE) {
+            if (constraints != null) {
+                moveToAllowedPosition(column);
+            }
+            if (cascade != null) {
+                cascade.onScrollIdle();
+            }
+            if (selection != null) {
+                selection.onScrollIdle();
+            }
+        }
+    }
+
+    @Override
+    public void onDismiss(DialogInterface dialog) {
+        if (metrics != null) {
+            metrics.onDismissed();
+        }
+        if (cascade != null) {
+            cascade.cancel();
+        }
+        if (labelPrefetcher != null) {
+            labelPrefetcher.cancel();
+        }
+        if (search != null) {
+            search.cancel();
+        }
+        if (selection != null) {
+            selection.cancel();
+        }
+        if (builder.recyclePickers) {
+            if (columnScroller != null) {
+                columnScroller.clear();
+                for (MaterialNumberPicker picker : scrapPickers) {
+                    PickerPool.recycle(builder.context, picker);
+                }
+                scrapPickers.clear();
+            } else {
+                layout.removeAllViews();
+            }
+            for (MaterialNumberPicker picker : pickers) {
+                if (picker != null) {
+                    PickerPool.recycle(builder.context, picker);
+                }
+            }
+            pickers.clear();
+            pickersRecycled = true;
+        }
+    }
+
+    /**
+     * Interface definition for a callback to be invoked when data is picked
+     * */
+    public interface OnPickListener {
+
+        /**
+         * Called when data has been picked
+         *
+         * @param selectedValues array with selected indices in the order in which {@link Input}s were added
+
+         * */
+        void onPick(int[] selectedValues, int key);
+    }
+
+    /**
+     * Interface definition for a callback to be invoked when data is picked,
+     * which receives values of numeric {@link Input}s instead of their positions
+     * */
+    public interface OnValuePickListener {
+
+        /**
+         * Called when data has been picked
+         *
+         * @param selectedValues array with selected values in the order in which {@link Input}s were added.
+         *                       See {@link Input#getValue(int)} for what is a value of each {@link Input}
+         * */
+        void onValuePick(int[] selectedValues, int key);
+    }
+
+    /**
+     * Interface definition for a callback to be invoked when data is picked,
+     * which receives the picked items themselves
+     * */
+    public interface OnResultListener {
+
+        /**
+         * Called when data has been picked
+         *
+         * @param result picked positions and items. It's owned by the dialog, read it inside this call
+         * */
+        void onResult(Result result, int key);
+    }
+
+    /**
+     * Picked positions, values and items in the order in which {@link Input}s were added.
+     * Each dialog fills the same instance on every pick, so picking doesn't allocate.
+     * */
+    public static final class Result {
+
+        private final Input[] inputs;
+        private final Selection selection;
+        private final DateTimeController dateTime;
+
+        Result(Input[] inputs, DateTimeController dateTime) {
+            this.inputs = inputs != null ? inputs : new Input[0];
+            Column[] columns = new Column[this.inputs.length];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = this.inputs[i].getColumn();
+            }
+            this.selection = new Selection(columns);
+            this.dateTime = dateTime;
+        }
+
+        void update(Selection selected) {
+            selection.set(selected);
+        }
+
+        /**
+         * @return count of columns
+         * */
+        public int size() {
+            return selection.size();
+        }
+
+        /**
+         * @return position picked in the column
+         * */
+        public int getPosition(int column) {
+            return selection.getPosition(column);
+        }
+
+        /**
+         * @return value picked in the column, see {@link Input#getValue(int)}
+         * */
+        public int getValue(int column) {
+            return selection.getValue(column);
+        }
+
+        /**
+         * @return values picked in all columns, as passed to {@link OnValuePickListener}
+         * */
+        public int[] getValues() {
+            return selection.getValues();
+        }
+
+        /**
+         * @return item picked in the column, cast to the type of the column's data set
+         * */
+        public <T> T getItem(int column) {
+            return selection.getItem(column);
+        }
+
+        /**
+         * @return {@link Input} of the column
+         * */
+        public Input getInput(int column) {
+            return inputs[column];
+        }
+
+        /**
+         * @return picked date (and time) in milliseconds
+         * @throws IllegalStateException if the dialog wasn't built with
+         * {@link Builder#setDateInputs(long, long, long)} or {@link Builder#setDateTimeInputs(long, long, long, boolean)}
+         * */
+        public long getTimeInMillis() {
+            if (dateTime == null) {
+                throw new IllegalStateException("Dialog has no date inputs");
+            }
+            return dateTime.getTimeInMillis(selection.getPositions());
+        }
+    }
+
+    /**
+     * Compact state of a dialog: its key, identities of its {@link Input}s and selected positions
+     *
+     * @see UniversalPickerDialog#onSaveInstanceState()
+     * */
+    public static final class SavedState implements Parcelable {
+
+        private final SelectionState selection;
+
+        SavedState(SelectionState selection) {
+            this.selection = selection;
+        }
+
+        private SavedState(Parcel in) {
+            this.selection = new SelectionState(in.readInt(),
+                    in.createStringArray(), in.createIntArray(), in.createIntArray());
+        }
+
+        /**
+         * @return key of the saved dialog, see {@link Builder#setKey(int)}
+         * */
+        public int getKey() {
+            return selection.getKey();
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        @Override
+        public void writeToParcel(Parcel dest, int flags) {
+            dest.writeInt(selection.getKey());
+            dest.writeStringArray(selection.getIds());
+            dest.writeIntArray(selection.getSizes());
+            dest.writeIntArray(selection.getPositions());
+        }
+
+        public static final Creator<SavedState> CREATOR = new Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+
+    /**
+     * Interface definition for a constraint between items of two columns
+     *
+     * @see Builder#addConstraint(int, int, Constraint)
+     * */
+    public interface Constraint<A, B> {
+
+        /**
+         * Called on the main thread when an item of one column gets selected for the first time,
+         * once for every item of the other column. Results are cached until the data set of either
+         * column is replaced.
+         *
+         * @param first item of the first column
+         * @param second item of the second column
+         * @return whether the items can be picked together
+         * */
+        boolean isAllowed(A first, B second);
+    }
+
+    private static final class ColumnConstraint {
+
+        final int first;
+        final int second;
+        final Constraint<Object, Object> constraint;
+
+        @SuppressWarnings("unchecked")
+        ColumnConstraint(int first, int second, Constraint<?, ?> constraint) {
+            this.first = first;
+            this.second = second;
+            this.constraint = (Constraint<Object, Object>) constraint;
+        }
+
+        boolean isAllowed(Object firstItem, Object secondItem) {
+            return constraint.isAllowed(firstItem, secondItem);
+        }
+    }
+
+    /**
+     * Interface definition for a callback to be invoked while the selection is being changed
+     *
+     * @see Builder#setSelectionChangeListener(OnSelectionChangeListener)
+     * */
+    public interface OnSelectionChangeListener {
+
+        /**
+         * Called at most once per frame while wheels are moving, or once they settle
+         * if {@link Builder#setSelectionChangeOnSettle(boolean)} is enabled
+         *
+         * @param selectedPositions array with selected indices in the order in which {@link Input}s were added.
+         *                          The same array is passed to every call, copy it to keep the values
+         * */
+        void onSelectionChanged(int[] selectedPositions, int key);
+    }
+
+    /**
+     * Interface definition for receiving performance metrics of the dialog.
+     * All timestamps are monotonic, taken from {@link System#nanoTime()}.
+     * Methods are called on the main thread, so they should only record the numbers.
+     *
+     * @see Builder#setMetricsListener(MetricsListener)
+     * */
+    public interface MetricsListener {
+
+        /**
+         * Called when the dialog has been created by {@link Builder#build()}
+         * */
+        void onBuilt(int key, long startNanos, long endNanos);
+
+        /**
+         * Called when the dialog is on screen after {@link UniversalPickerDialog#show()}
+         * */
+        void onShown(int key, long showNanos, long shownNanos);
+
+        /**
+         * Called when a wheel has settled after being scrolled
+         *
+         * @param column index of the {@link Input}
+         * @param fling whether the wheel was flung rather than only dragged
+         * */
+        void onScroll(int key, int column, long startNanos, long endNanos, boolean fling);
+
+        /**
+         * Called for each column when the dialog is dismissed
+         *
+         * @param column index of the {@link Input}
+         * @param count count of labels formatted for the column since it was shown
+         * */
+        void onFormatterCalls(int key, int column, int count);
+    }
+
+    /**
+     * Interface definition for resolving the data set of a dependent {@link Input}
+     *
+     * @see Input#dependent(int, DependencyResolver)
+     * */
+    public interface DependencyResolver {
+
+        /**
+         * Called when the selection in any column to the left of the dependent one has been changed.
+         * It's called on the executor set by {@link Builder#setDependencyExecutor(Executor)},
+         * or on the main thread if there is none.
+         *
+         * @param selectedPositions positions selected in the columns to the left of the dependent one
+         * @return data set for the dependent column, must not be empty
+         * */
+        AbstractList<?> resolve(int[] selectedPositions);
+    }
+
+    /**
+     * Wrapper for representing a data set with default position in list
+     * */
+    public static class Input {
+
+        private final Column column;
+        private float labelWidth = -1;
+        private int labelWidthVersion;
+        private float labelWidthTextSize;
+        private Typeface labelWidthTypeface;
+        private DependencyResolver resolver;
+
+        /**
+         * Constructor for data represented in {@link AbstractList}
+         *
+         * @param defaultPosition is a position of item which selected by default
+         * @param list list of objects
+         * */
+        public Input(int defaultPosition, AbstractList<?> list) {
+            this.column = new Column(defaultPosition, list);
+        }
+
+        /**
+         * Constructor for data represented in array.
+         * The array is wrapped without copying and is never modified by the dialog,
+         * so don't modify it yourself while the dialog is shown.
+         *
+         * @param defaultPosition is a position of item which selected by default
+         * @param array array of objects
+         * */
+        public <T> Input(int defaultPosition, T[] array) {
+            this(defaultPosition, new ArrayViews.ObjectArrayView<>(array));
+        }
+
+        /**
+         * Constructor for data represented in int array.
+         * The array is wrapped without copying and is never modified by the dialog,
+         * so don't modify it yourself while the dialog is shown.
+         *
+         * @param defaultPosition is a position of item which selected by default
+         * @param array array of values
+         * */
+        public Input(int defaultPosition, int[] array) {
+            this(defaultPosition, new ArrayViews.IntArrayView(array));
+        }
+
+        /**
+         * Constructor for data represented in long array.
+         * The array is wrapped without copying and is never modified by the dialog,
+         * so don't modify it yourself while the dialog is shown.
+         *
+         * @param defaultPosition is a position of item which selected by default
+         * @param array array of values
+         * */
+        public Input(int defaultPosition, long[] array) {
+            this(defaultPosition, new ArrayViews.LongArrayView(array));
+        }
+
+        /**
+         * Constructor for data loaded page by page from {@link DataSource}.
+         * Only a few pages around the current wheel position are kept in memory.
+         *
+         * @param defaultPosition is a position of item which selected by default
+         * @param dataSource source of items
+         * */
+        public Input(int defaultPosition, DataSource<?> dataSource) {
+            this(defaultPosition, dataSource, PagedList.DEFAULT_PAGE_SIZE, PagedList.DEFAULT_MAX_PAGES);
+        }
+
+        /**
+         * Constructor for data loaded page by page from {@link DataSource}.
+         *
+         * @param defaultPosition is a position of item which selected by default
+         * @param dataSource source of items
+         * @param pageSize count of items requested from data source at once
+         * @param maxPages count of pages kept in memory, the least recently used page is dropped first
+         * */
+        public Input(int defaultPosition, DataSource<?> dataSource, int pageSize, int maxPages) {
+            this(defaultPosition, new PagedList<>(dataSource, pageSize, maxPages));
+        }
+
+        /**
+         * Creates an {@link Input} for numeric values from start to end (inclusive) with the given step.
+         * Values are computed from wheel positions, so no list of numbers is created.
+         *
+         * @param start first value
+         * @param end last value, it's skipped if it can't be reached with the step
+         * @param step difference between neighbour values, may be negative for descending ranges
+         * @param defaultValue value which selected by default, the closest value within the range is used
+         * @throws IllegalArgumentException if the step is 0, leads away from the end,
+         * or the range has more than {@link Integer#MAX_VALUE} values
+         * */
+        public static Input range(int start, int end, int step, int defaultValue) {
+            return range(start, end, step, defaultValue, null);
+        }
+
+        /**
+         * Creates an {@link Input} for numeric values from start to end (inclusive) with the given step.
+         * Values are computed from wheel positions, so no list of numbers is created.
+         *
+         * @param start first value
+         * @param end last value, it's skipped if it can't be reached with the step
+         * @param step difference between neighbour values, may be negative for descending ranges
+         * @param defaultValue value which selected by default, the closest value within the range is used
+         * @param pattern {@link java.text.DecimalFormat} pattern for labels (e.g. "00"), or null for plain numbers
+         * @throws IllegalArgumentException if the step is 0, leads away from the end,
+         * or the range has more than {@link Integer#MAX_VALUE} values
+         * */
+        public static Input range(int start, int end, int step, int defaultValue, String pattern) {
+            IntRange range = new IntRange(start, end, step, pattern);
+            return new Input(range.getPosition(defaultValue), range);
+        }
+
+        /**
+         * Creates an {@link Input} which data set depends on the selection in the columns to its left,
+         * e.g. regions of the selected country. When that selection changes, only dependent columns
+         * are rebound: the previously selected item stays selected if the new data set contains it.
+         * Changes made while a wheel is scrolling are resolved once, when it settles.
+         *
+         * @param defaultPosition is a position of item which selected by default
+         * @param resolver resolver of the data set
+         * */
+        public static Input dependent(int defaultPosition, DependencyResolver resolver) {
+            Input input = new Input(defaultPosition, (AbstractList<?>) null);
+            input.resolver = resolver;
+            return input;
+        }
+
+        /**
+         * Set identity of the data set, which is used for matching saved positions
+         * to this {@link Input} when the dialog is restored
+         *
+         * @see Builder#setSavedState(Parcelable)
+         * */
+        public void setId(String id) {
+            column.setId(id);
+        }
+
+        /**
+         * Set {@link android.widget.NumberPicker.Formatter} for format current value into a string for presentation
+         * */
+        public void setFormatter(NumberPicker.Formatter formatter) {
+            column.setFormatter(toLabelFormatter(formatter));
+        }
+
+        /**
+         * Drops labels computed for the data set. Call it after modifying the list of this {@link Input}
+         * in place (e.g. replacing or reordering items), so the labels of the old items aren't shown
+         * by the next dialog. Changes of the size of the list are noticed without it.
+         * */
+        public void notifyDataSetChanged() {
+            column.notifyDataSetChanged();
+        }
 
-    private Spannable getTitle() {
-        Spannable title = null;
-        if (builder.title != null) {
-            title = new SpannableString(builder.title);
-            if (builder.titleColor != 0) {
-                title.setSpan(
-                        new ForegroundColorSpan(builder.titleColor),
-                        0, title.length(),
-                        Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
-            }
+        /**
+         * Enable computing of all labels once, when the first picker for this {@link Input} is created.
+         * Wheel redraws are then served from the table without formatting anything,
+         * so scrolling doesn't allocate. The table is kept and reused while this {@link Input} is alive.
+         * Note that precomputing loads every item, so don't enable it for {@link DataSource} based inputs.
+         * */
+        public void setPrecomputeLabels(boolean precomputeLabels) {
+            column.setPrecomputeLabels(precomputeLabels);
         }
-        return title;
-    }
 
-    private String getNegativeButtonText() {
-        return builder.negativeButtonText != null
-                ? builder.negativeButtonText
-                : builder.context.getString(android.R.string.cancel);
-    }
+        /**
+         * Enable index of sections by first letters of labels. It's shown as a strip next to the picker,
+         * which jumps straight to the touched section. Meant for long sorted data sets.
+         * The index is computed once and kept while the data set stays the same. It's computed on the executor
+         * set by {@link Builder#setLabelExecutor(Executor)}, or on the main thread right after the dialog is created.
+         * It isn't shown for {@link DataSource} based inputs, since it would load every page.
+         * */
+        public void setSectionIndexEnabled(boolean enabled) {
+            column.setSectionIndexEnabled(enabled);
+        }
 
-    private String getPositiveButtonText() {
-        return builder.positiveButtonText != null
-                ? builder.positiveButtonText
-                : builder.context.getString(android.R.string.ok);
-    }
+        /**
+         * Set {@link android.widget.NumberPicker.Formatter} for section keys of items,
+         * to group them by a custom key instead of the first letter of their labels.
+         * Enables the section index, see {@link #setSectionIndexEnabled(boolean)}.
+         * */
+        public void setSectionFormatter(NumberPicker.Formatter sectionFormatter) {
+            column.setSectionFormatter(toLabelFormatter(sectionFormatter));
+        }
 
-    @Override
-    public void onShow(DialogInterface dialog) {
-        if (builder.negativeButtonColor != 0) {
-            this.dialog.getButton(DialogInterface.BUTTON_NEGATIVE)
-                    .setTextColor(builder.negativeButtonColor);
+        /**
+         * Returns the item at given position
+         * */
+        public Object getItem(int position) {
+            return column.getItem(position);
         }
-        if (builder.positiveButtonColor != 0) {
-            this.dialog.getButton(DialogInterface.BUTTON_POSITIVE)
-                    .setTextColor(builder.positiveButtonColor);
+
+        /**
+         * Returns the value of item at given position.
+         * It's the number itself for {@link #range(int, int, int, int)} inputs and inputs of int array,
+         * and the position for any other input.
+         * */
+        public int getValue(int position) {
+            return column.getValue(position);
         }
-    }
 
-    /**
-     * Interface definition for a callback to be invoked when data is picked
-     * */
-    public interface OnPickListener {
+        private static LabelFormatter toLabelFormatter(final NumberPicker.Formatter formatter) {
+            if (formatter == null) return null;
+            return new LabelFormatter() {
+                @Override
+                public String format(int position) {
+                    return formatter.format(position);
+                }
+            };
+        }
 
         /**
-         * Called when data has been picked
-         *
-         * @param selectedValues array with selected indices in the order in which {@link Input}s were added
-
+         * Makes this input immutable, so it can be shared between dialogs, see {@link Column#share(String, Locale)}
          * */
-        void onPick(int[] selectedValues, int key);
-    }
+        void share(String id, Locale locale) {
+            column.share(id, locale);
+        }
 
-    /**
-     * Wrapper for representing a data set with default position in list
-     * */
-    public static class Input {
+        void checkNotFrozen() {
+            column.checkNotFrozen();
+        }
+
+        boolean isDependent() {
+            return resolver != null;
+        }
 
-        private int defaultPosition;
-        private AbstractList<?> list;
-        private NumberPicker.Formatter formatter;
+        AbstractList<?> resolve(int[] selectedPositions) {
+            AbstractList<?> list = resolver.resolve(selectedPositions);
+            if (list == null || list.isEmpty()) {
+                throw new IllegalStateException("DependencyResolver must return a non-empty list");
+            }
+            return list;
+        }
 
         /**
-         * Constructor for data represented in {@link AbstractList}
-         *
-         * @param defaultPosition is a position of item which selected by default
-         * @param list list of objects
+         * @return model of the data set, which the dialog binds its picker to
          * */
-        public Input(int defaultPosition, AbstractList<?> list) {
-            this.defaultPosition = defaultPosition;
-            this.list = list;
+        Column getColumn() {
+            return column;
+        }
+
+        AbstractList<?> getList() {
+            return column.getList();
+        }
+
+        void setList(AbstractList<?> list) {
+            column.setList(list);
         }
 
         /**
-         * Constructor for data represented in array
+         * Computes everything the picker needs before the view is created: labels around the default position
+         * (or all of them if they are precomputed) and, if the text size is given, width of the widest label.
+         * May be called from any thread.
          *
-         * @param defaultPosition is a position of item which selected by default
-         * @param array array of objects
+         * @param textSize text size in pixels the width is measured for, or 0 to skip measuring
          * */
-        public <T> Input(int defaultPosition, T[] array) {
-            this.defaultPosition = defaultPosition;
-            this.list = new ArrayList<>(Arrays.asList(array));
+        void prepare(Locale locale, float textSize) {
+            if (column.getList() == null) return;
+
+            column.prepareLabels(locale);
+            if (textSize > 0 && !Thread.currentThread().isInterrupted()) {
+                getWidestLabelWidth(locale, textSize, null);
+            }
+        }
+
+        LabelProvider getLabels(Locale locale) {
+            return column.getLabels(locale);
+        }
+
+        boolean hasSections() {
+            return column.hasSections();
+        }
+
+        SectionIndex getSectionIndex(Locale locale) {
+            return column.getSectionIndex(locale);
+        }
+
+        LabelIndex getLabelIndex(Locale locale) {
+            return column.getLabelIndex(locale);
+        }
+
+        long getSharedSizeBytes() {
+            return column.getSharedSizeBytes();
         }
 
         /**
-         * Set {@link android.widget.NumberPicker.Formatter} for format current value into a string for presentation
+         * Returns width of the widest label in pixels, measuring it if needed.
+         * The last measured width is cached per text size and typeface, while the labels stay the same.
+         * Only the page with the default position is measured for {@link DataSource} based inputs.
          * */
-        public void setFormatter(NumberPicker.Formatter formatter) {
-            this.formatter = formatter;
-        }
+        float getWidestLabelWidth(Locale locale, float textSize, Typeface typeface) {
+            int version;
+            LabelProvider labels;
+            int start = 0;
+            int end;
+            synchronized (column) {
+                labels = column.getComputedLabels(locale);
+                version = column.getLabelsVersion();
+                if (labelWidth >= 0 && labelWidthVersion == version
+                        && labelWidthTextSize == textSize && labelWidthTypeface == typeface) {
+                    return labelWidth;
+                }
+                AbstractList<?> list = column.getList();
+                end = list.size();
+                if (list instanceof PagedList) {
+                    PagedList<?> pagedList = (PagedList<?>) list;
+                    start = pagedList.getPageStart(Math.min(column.getDefaultPosition(), end - 1));
+                    end = Math.min(end, start + pagedList.getPageSize());
+                }
+            }
 
+            float width = LabelWidths.measureWidest(labels, start, end, textSize, typeface);
+            synchronized (column) {
+                if (column.getLabelsVersion() == version) {
+                    labelWidth = width;
+                    labelWidthVersion = version;
+                    labelWidthTextSize = textSize;
+                    labelWidthTypeface = typeface;
+                }
+            }
+            return width;
+        }
     }
 
     /**
@@ -269,7 +1516,23 @@ public class UniversalPickerDialog
         private String title;
         private String negativeButtonText, positiveButtonText;
         private OnPickListener listener;
+        private OnValuePickListener valueListener;
+        private OnResultListener resultListener;
+        private SavedState savedState;
+        private DateTimeController dateTime;
         private Input[] inputs;
+        private FutureTask<Void> prewarmTask;
+        private boolean recyclePickers;
+        private Executor dependencyExecutor;
+        private boolean searchEnabled;
+        private String searchHint;
+        private MetricsListener metricsListener;
+        private boolean fitColumnsToContent;
+        private OnSelectionChangeListener selectionChangeListener;
+        private boolean selectionChangeOnSettle;
+        private ArrayList<ColumnConstraint> constraints;
+        private int visibleColumns;
+        private Executor labelExecutor;
 
         /**
          * Constructor using a context for this builder and the {@link UniversalPickerDialog} it creates.
@@ -487,6 +1750,117 @@ public class UniversalPickerDialog
             return this;
         }
 
+        /**
+         * Set {@link OnValuePickListener} for picker.
+         * It may be used along with {@link OnPickListener}.
+         *
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setValueListener(OnValuePickListener listener) {
+            this.valueListener = listener;
+            return this;
+        }
+
+        /**
+         * Set {@link OnSelectionChangeListener} for receiving the selection while the user scrolls.
+         * Intermediate values are coalesced, so it's called at most once per frame.
+         *
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setSelectionChangeListener(OnSelectionChangeListener listener) {
+            this.selectionChangeListener = listener;
+            return this;
+        }
+
+        /**
+         * Enable delivering of selection changes only when wheels settle, instead of once per frame
+         *
+         * @see #setSelectionChangeListener(OnSelectionChangeListener)
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setSelectionChangeOnSettle(boolean onSettle) {
+            this.selectionChangeOnSettle = onSettle;
+            return this;
+        }
+
+        /**
+         * Set {@link Executor} for computing labels of the {@link Input}s in background while the dialog is shown.
+         * Labels are computed in chunks, nearest to the selected position of each column first,
+         * so the wheel finds them ready instead of formatting them while it draws.
+         * The work is cancelled when the dialog is cancelled or dismissed.
+         * Labels of {@link DataSource} based inputs aren't computed ahead, so only the pages the wheel shows are loaded.
+         * The executor also indexes labels for search and sections, see {@link Input#setSectionIndexEnabled(boolean)},
+         * and measures them for {@link #setFitColumnsToContent(boolean)}.
+         * If a {@link NumberPicker.Formatter} is set, it must be safe to call from the executor.
+         *
+         * @param executor executor for labels, or null to format them on the main thread (default)
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setLabelExecutor(Executor executor) {
+            this.labelExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Enable horizontal scrolling of columns for dialogs with many {@link Input}s.
+         * Only the given count of columns fits the width, and pickers are created only for the visible ones:
+         * pickers of the columns scrolled out are reused for the columns scrolled in.
+         * Takes precedence over {@link #setFitColumnsToContent(boolean)}.
+         * Note that {@link UniversalPickerDialog#pickers} has null entries for columns out of the screen.
+         *
+         * @param visibleColumns count of columns visible at once, 0 to show all of them (default)
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setVisibleColumns(int visibleColumns) {
+            this.visibleColumns = visibleColumns;
+            return this;
+        }
+
+        /**
+         * Add {@link Constraint} between items of two columns.
+         * Disallowed items are still shown and can be scrolled through: once a column settles on an item
+         * which isn't allowed with the items picked in other columns, it moves to the nearest allowed item,
+         * and other settled columns follow the column being scrolled. Picking while a column is still
+         * scrolling also moves it to the nearest allowed item first.
+         * Constraints are evaluated lazily, for the items being selected, and cached per item,
+         * so they suit columns of up to a few thousands of items.
+         *
+         * @param firstColumn index of the column which items are passed as the first argument
+         * @param secondColumn index of the column which items are passed as the second argument
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder addConstraint(int firstColumn, int secondColumn, Constraint<?, ?> constraint) {
+            if (constraints == null) {
+                constraints = new ArrayList<>();
+            }
+            constraints.add(new ColumnConstraint(firstColumn, secondColumn, constraint));
+            return this;
+        }
+
+        /**
+         * Set {@link OnResultListener} for picker.
+         * It may be used along with {@link OnPickListener}.
+         *
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setResultListener(OnResultListener listener) {
+            this.resultListener = listener;
+            return this;
+        }
+
+        /**
+         * Set state saved by {@link UniversalPickerDialog#onSaveInstanceState()}.
+         * Saved positions are selected instead of default ones if the key and the {@link Input}s match:
+         * each {@link Input} must have the same id (see {@link Input#setId(String)}) and size.
+         * Labels precomputed by reused {@link Input}s aren't computed again.
+         *
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setSavedState(Parcelable state) {
+            this.savedState = state instanceof SavedState ? (SavedState) state : null;
+            return this;
+        }
+
         /**
          * Set list of {@link Input}'s using varargs.
          * Each {@link Input} is representing an spinner in dialog with list of items from its {@link Input#list}
@@ -495,9 +1869,208 @@ public class UniversalPickerDialog
          * */
         public Builder setInputs(Input... inputs) {
             this.inputs = inputs;
+            this.dateTime = null;
+            return this;
+        }
+
+        /**
+         * Set year, month and day {@link Input}s instead of ones set by {@link #setInputs(Input...)}.
+         * Count of days follows the selected month and year, and dates out of min and max dates
+         * can't be selected. Use {@link Result#getTimeInMillis()} to get the picked date.
+         *
+         * @param minDate min date in milliseconds
+         * @param maxDate max date in milliseconds
+         * @param defaultDate date which selected by default
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setDateInputs(long minDate, long maxDate, long defaultDate) {
+            return setDateTimeInputs(new DateTimeController(
+                    minDate, maxDate, false, true, getLocale()), defaultDate);
+        }
+
+        /**
+         * Set year, month, day, hour and minute (and AM/PM for 12-hour format) {@link Input}s
+         * instead of ones set by {@link #setInputs(Input...)}.
+         * Count of days follows the selected month and year, and dates out of min and max dates
+         * can't be selected (time of day isn't restricted).
+         * Use {@link Result#getTimeInMillis()} to get the picked date and time.
+         *
+         * @param minDate min date in milliseconds
+         * @param maxDate max date in milliseconds
+         * @param defaultDate date and time which selected by default
+         * @param is24HourFormat whether hours are shown in 24-hour format
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setDateTimeInputs(long minDate, long maxDate, long defaultDate, boolean is24HourFormat) {
+            return setDateTimeInputs(new DateTimeController(
+                    minDate, maxDate, true, is24HourFormat, getLocale()), defaultDate);
+        }
+
+        private Builder setDateTimeInputs(DateTimeController dateTime, long defaultDate) {
+            CalendarColumn[] columns = dateTime.getColumns();
+            int[] positions = dateTime.select(defaultDate);
+            this.inputs = new Input[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                this.inputs[i] = new Input(positions[i], columns[i]);
+            }
+            this.dateTime = dateTime;
+            return this;
+        }
+
+        private Locale getLocale() {
+            return context.getResources().getConfiguration().locale;
+        }
+
+        /**
+         * @return text size of the pickers in pixels, the same as {@link MaterialNumberPicker#getTextSize()}
+         * */
+        private float getContentTextSizePixels() {
+            MaterialNumberPicker.Builder builder = new MaterialNumberPicker.Builder(context);
+            if (contentTextSize != 0) {
+                builder.textSize(contentTextSize);
+            }
+            return builder.getTextSizePixels();
+        }
+
+        /**
+         * Set executor for resolving data sets of dependent {@link Input}s.
+         * By default they are resolved on the main thread.
+         *
+         * @see Input#dependent(int, DependencyResolver)
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setDependencyExecutor(Executor executor) {
+            this.dependencyExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Enable sizing of columns by their content: each column gets a share of the dialog width
+         * proportional to its widest label instead of an equal share.
+         * Labels are measured on the executor set by {@link #setLabelExecutor(Executor)}, or on the main thread
+         * right after the dialog is created. Big data sets are sampled, and only the page with the default
+         * position is measured for {@link DataSource} based inputs. Widths are cached by {@link Input}s,
+         * so columns share the width equally only until the first measurement is done.
+         *
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setFitColumnsToContent(boolean fitColumnsToContent) {
+            this.fitColumnsToContent = fitColumnsToContent;
+            return this;
+        }
+
+        /**
+         * Set {@link MetricsListener} for receiving build and show timings, scroll durations
+         * and formatter call counts of the dialog. Nothing is measured when it's not set.
+         *
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setMetricsListener(MetricsListener listener) {
+            this.metricsListener = listener;
+            return this;
+        }
+
+        /**
+         * Enable search field above the pickers. Typed text moves the last touched picker
+         * to the first item (in alphabetical order) which label starts with it,
+         * ignoring case and diacritics. Labels are indexed in background when the dialog is created
+         * if {@link #setLabelExecutor(Executor)} is set, otherwise labels of a column are indexed
+         * on the main thread when it's searched for the first time.
+         * Columns of {@link DataSource} based inputs aren't searchable, since indexing would load every page.
+         *
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setSearchEnabled(boolean searchEnabled) {
+            this.searchEnabled = searchEnabled;
+            return this;
+        }
+
+        /**
+         * Set hint text resource for search field
+         *
+         * @see #setSearchEnabled(boolean)
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setSearchHint(@StringRes int hint) {
+            return setSearchHint(context.getString(hint));
+        }
+
+        /**
+         * Set hint text string for search field
+         *
+         * @see #setSearchEnabled(boolean)
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setSearchHint(String hint) {
+            this.searchHint = hint;
+            return this;
+        }
+
+        /**
+         * Enable reusing of {@link MaterialNumberPicker}s between dialogs created with the same context.
+         * Pickers are returned to the pool when the dialog is dismissed and the pool is released
+         * when the Activity (also one wrapped by the context) is destroyed (call
+         * {@link UniversalPickerDialog#releasePickers(Context)} yourself below API 14 or for contexts
+         * without an Activity). A dismissed dialog can't be shown again when this is enabled.
+         *
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder setRecyclePickers(boolean recyclePickers) {
+            this.recyclePickers = recyclePickers;
+            return this;
+        }
+
+        /**
+         * Starts preparing data of the {@link Input}s set by {@link #setInputs(Input...)}
+         * on {@link AsyncTask#THREAD_POOL_EXECUTOR}, see {@link #prewarm(Executor)}.
+         *
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder prewarm() {
+            return prewarm(AsyncTask.THREAD_POOL_EXECUTOR);
+        }
+
+        /**
+         * Starts preparing data of the {@link Input}s set by {@link #setInputs(Input...)} on the given executor:
+         * labels around the default positions (all labels of inputs with precomputed labels), the first pages
+         * of {@link DataSource} based inputs and, with {@link #setFitColumnsToContent(boolean)}, widths of columns.
+         * So {@link #build()} and {@link #show()} mostly have to create views.
+         * If a {@link NumberPicker.Formatter} is set to an {@link Input}, it must be safe to call from the executor.
+         * Call {@link #cancelPrewarm()} if the dialog won't be shown, e.g. when the screen is destroyed.
+         *
+         * @return This Builder object to allow for chaining of calls to set methods
+         * */
+        public Builder prewarm(Executor executor) {
+            cancelPrewarm();
+            final Input[] inputs = this.inputs;
+            final Locale locale = getLocale();
+            final float textSize = fitColumnsToContent && visibleColumns == 0 ? getContentTextSizePixels() : 0;
+            prewarmTask = new FutureTask<>(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    if (inputs != null) {
+                        for (Input input : inputs) {
+                            if (Thread.currentThread().isInterrupted()) break;
+                            input.prepare(locale, textSize);
+                        }
+                    }
+                    return null;
+                }
+            });
+            executor.execute(prewarmTask);
             return this;
         }
 
+        /**
+         * Cancels the work started by {@link #prewarm(Executor)}, if it's not finished yet
+         * */
+        public void cancelPrewarm() {
+            if (prewarmTask != null) {
+                prewarmTask.cancel(true);
+                prewarmTask = null;
+            }
+        }
+
         /**
          * Creates a {@link UniversalPickerDialog} with the arguments supplied to this builder. It does not
          * {@link UniversalPickerDialog#show()} the dialog. This allows the user to do any extra processing
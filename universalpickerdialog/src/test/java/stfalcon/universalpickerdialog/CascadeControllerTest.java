@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 23)
+public class CascadeControllerTest {
+
+    private static final List<String> COUNTRIES = Arrays.asList("France", "Italy");
+
+    private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+    private final int[] positions = new int[2];
+    private final List<AbstractList<?>> rebound = new ArrayList<>();
+    private UniversalPickerDialog.Input[] inputs;
+    private CascadeController cascade;
+
+    @Before
+    public void setUp() {
+        inputs = new UniversalPickerDialog.Input[] {
+                new UniversalPickerDialog.Input(0, new ArrayList<>(COUNTRIES)),
+                UniversalPickerDialog.Input.dependent(0, new UniversalPickerDialog.DependencyResolver() {
+                    @Override
+                    public AbstractList<?> resolve(int[] selectedPositions) {
+                        return selectedPositions[0] == 0
+                                ? new ArrayList<>(Arrays.asList("Lyon", "Paris"))
+                                : new ArrayList<>(Arrays.asList("Milan", "Paris", "Rome"));
+                    }
+                })
+        };
+        inputs[1].setList(inputs[1].resolve(new int[] {0}));
+        cascade = new CascadeController(inputs, new CascadeController.Binder() {
+            @Override
+            public int getPosition(int column) {
+                return positions[column];
+            }
+
+            @Override
+            public void rebind(int column, AbstractList<?> list, int position) {
+                inputs[column].setList(list);
+                positions[column] = position;
+                rebound.add(list);
+            }
+        }, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        });
+    }
+
+    @Test
+    public void keepsSelectedChildWhenParentChanges() {
+        positions[1] = 1; // Paris
+        positions[0] = 1;
+        cascade.onValueChanged(0, false);
+        runTasks();
+
+        assertEquals(1, rebound.size());
+        assertEquals("Rome", rebound.get(0).get(2));
+        assertEquals(1, positions[1]);
+    }
+
+    @Test
+    public void dropsResultOfParentChangedAgain() {
+        positions[0] = 1;
+        cascade.onValueChanged(0, false);
+        positions[0] = 0;
+        cascade.onValueChanged(0, true); // flung back while Italy was being resolved
+        runTasks();
+        assertTrue(rebound.isEmpty());
+
+        cascade.onScrollIdle();
+        runTasks();
+        assertEquals(1, rebound.size());
+        assertEquals("Lyon", rebound.get(0).get(0));
+    }
+
+    @Test
+    public void keepsChildSelectedWhileResolving() {
+        positions[0] = 1;
+        cascade.onValueChanged(0, false);
+        positions[1] = 1; // Paris picked before Italy was resolved
+        cascade.onValueChanged(1, false);
+        runTasks();
+
+        assertEquals(1, rebound.size());
+        assertEquals("Paris", inputs[1].getList().get(positions[1]));
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import stfalcon.universalpickerdialog.model.DataSource;
+import stfalcon.universalpickerdialog.model.LabelCache;
+import stfalcon.universalpickerdialog.model.LabelProvider;
+import stfalcon.universalpickerdialog.model.SectionIndex;
+import stfalcon.universalpickerdialog.model.Selection;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class InputTest {
+
+    @Test
+    public void reusesLabelsOfSameDataSet() {
+        UniversalPickerDialog.Input input = new UniversalPickerDialog.Input(0, list("a", "b", "c"));
+
+        LabelProvider labels = input.getLabels(Locale.US);
+        assertSame(labels, input.getLabels(Locale.US));
+        assertNotSame(labels, input.getLabels(Locale.FRANCE));
+    }
+
+    @Test
+    public void dropsLabelsWhenListIsResized() {
+        ArrayList<String> list = list("b", "c", "d", "e");
+        UniversalPickerDialog.Input input = new UniversalPickerDialog.Input(0, list);
+        assertEquals("b", input.getLabels(Locale.US).getLabel(0));
+
+        list.add(0, "a");
+        LabelProvider labels = input.getLabels(Locale.US);
+        assertEquals(5, labels.size());
+        assertEquals("a", labels.getLabel(0));
+        assertEquals("e", labels.getLabel(4));
+    }
+
+    @Test
+    public void dropsPrecomputedLabelsWhenListIsResized() {
+        ArrayList<String> list = list("a", "b");
+        UniversalPickerDialog.Input input = new UniversalPickerDialog.Input(0, list);
+        input.setPrecomputeLabels(true);
+        assertEquals(2, input.getLabels(Locale.US).size());
+
+        list.remove(0);
+        LabelProvider labels = input.getLabels(Locale.US);
+        assertEquals(1, labels.size());
+        assertEquals("b", labels.getLabel(0));
+    }
+
+    @Test
+    public void dropsLabelsWhenNotifiedOfChange() {
+        ArrayList<String> list = list("a", "b");
+        UniversalPickerDialog.Input input = new UniversalPickerDialog.Input(0, list);
+        assertEquals("a", input.getLabels(Locale.US).getLabel(0));
+
+        list.set(0, "c");
+        input.notifyDataSetChanged();
+        assertEquals("c", input.getLabels(Locale.US).getLabel(0));
+    }
+
+    @Test
+    public void buildsSectionsWithoutFillingLabelCache() {
+        UniversalPickerDialog.Input input = new UniversalPickerDialog.Input(0, list("Apple", "Avocado", "Banana"));
+        input.setSectionIndexEnabled(true);
+        LabelCache labels = (LabelCache) input.getLabels(Locale.US);
+
+        SectionIndex index = input.getSectionIndex(Locale.US);
+        assertEquals(Arrays.asList("A", "B"), Arrays.asList(index.getSections()));
+        assertEquals(2, index.getPositionForSection(1));
+        assertFalse(labels.isComputed(0));
+        assertSame(index, input.getSectionIndex(Locale.US));
+    }
+
+    @Test
+    public void hidesSectionsOfPagedInputs() {
+        UniversalPickerDialog.Input input = new UniversalPickerDialog.Input(0, new DataSource<String>() {
+            @Override
+            public int size() {
+                return 10;
+            }
+
+            @Override
+            public List<String> load(int start, int count) {
+                throw new AssertionError("No page should be loaded");
+            }
+        });
+        input.setSectionIndexEnabled(true);
+
+        assertFalse(input.hasSections());
+    }
+
+    @Test
+    public void leavesArrayOfInputUnchanged() {
+        String[] array = {"Odesa", "Kyiv", "Lviv"};
+        String[] copy = array.clone();
+        UniversalPickerDialog.Input input = new UniversalPickerDialog.Input(2, array);
+        input.setSectionIndexEnabled(true);
+
+        input.getLabels(Locale.US).getLabel(0);
+        input.getLabelIndex(Locale.US);
+        input.getSectionIndex(Locale.US);
+        Selection selected = new Selection(input.getColumn());
+        selected.setPosition(0, 1);
+        UniversalPickerDialog.Result result =
+                new UniversalPickerDialog.Result(new UniversalPickerDialog.Input[]{input}, null);
+        result.update(selected);
+
+        assertSame(array[1], result.getItem(0));
+        assertArrayEquals(copy, array);
+    }
+
+    private static ArrayList<String> list(String... items) {
+        return new ArrayList<>(Arrays.asList(items));
+    }
+}
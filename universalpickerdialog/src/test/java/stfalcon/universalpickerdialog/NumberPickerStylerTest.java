@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.widget.EditText;
+import android.widget.NumberPicker;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 23)
+public class NumberPickerStylerTest {
+
+    @Test
+    public void probesNumberPickerOncePerProcess() {
+        Context context = RuntimeEnvironment.application;
+
+        new MaterialNumberPicker(context);
+        MaterialNumberPicker picker = new MaterialNumberPicker.Builder(context)
+                .textColor(Color.RED)
+                .separatorColor(Color.GREEN)
+                .build();
+        picker.setTextColor(Color.BLUE);
+        picker.setTextSize(40f);
+        picker.setSeparatorColor(Color.BLACK);
+        picker.bind(new MaterialNumberPicker.Builder(context));
+
+        assertEquals(1, NumberPickerStyler.getProbeCount());
+    }
+
+    @Test
+    public void appliesStyleThroughResolvedFields() {
+        MaterialNumberPicker picker = new MaterialNumberPicker.Builder(RuntimeEnvironment.application)
+                .textColor(Color.RED)
+                .build();
+
+        EditText inputText = findInputText(picker);
+        assertNotNull(inputText);
+        assertEquals(Color.RED, inputText.getCurrentTextColor());
+        assertEquals(0, inputText.getFilters().length);
+
+        picker.setTextColor(Color.BLUE);
+        assertEquals(Color.BLUE, inputText.getCurrentTextColor());
+    }
+
+    private static EditText findInputText(NumberPicker picker) {
+        for (int i = 0; i < picker.getChildCount(); i++) {
+            if (picker.getChildAt(i) instanceof EditText) {
+                return (EditText) picker.getChildAt(i);
+            }
+        }
+        return null;
+    }
+}
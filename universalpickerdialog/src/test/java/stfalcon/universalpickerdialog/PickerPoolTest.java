@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.widget.NumberPicker;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.util.ActivityController;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 23)
+public class PickerPoolTest {
+
+    @Test
+    public void recycledPickerDropsBuilderAndFormatter() {
+        Context context = RuntimeEnvironment.application;
+        MaterialNumberPicker picker = PickerPool.obtain(context, new MaterialNumberPicker.Builder(context)
+                .formatter(new NumberPicker.Formatter() {
+                    @Override
+                    public String format(int value) {
+                        return "Item " + value;
+                    }
+                }));
+
+        PickerPool.recycle(context, picker);
+        assertNull(picker.getBuilder());
+
+        MaterialNumberPicker.Builder builder = new MaterialNumberPicker.Builder(context);
+        assertSame(picker, PickerPool.obtain(context, builder));
+        assertSame(builder, picker.getBuilder());
+        PickerPool.release(context);
+    }
+
+    @Test
+    public void releasesPoolOfWrappedActivityWhenDestroyed() {
+        ActivityController<Activity> controller = Robolectric.buildActivity(Activity.class).create();
+        Context context = new ContextThemeWrapper(controller.get(), android.R.style.Theme_Material_Dialog);
+        MaterialNumberPicker picker = new MaterialNumberPicker.Builder(context).build();
+        PickerPool.recycle(context, picker);
+
+        controller.destroy();
+
+        assertNotSame(picker, PickerPool.obtain(context, new MaterialNumberPicker.Builder(context)));
+    }
+
+    @Test
+    public void releasesPoolOfWrappedActivity() {
+        Activity activity = Robolectric.buildActivity(Activity.class).create().get();
+        Context context = new ContextThemeWrapper(activity, android.R.style.Theme_Material_Dialog);
+        MaterialNumberPicker picker = new MaterialNumberPicker.Builder(context).build();
+        PickerPool.recycle(context, picker);
+
+        UniversalPickerDialog.releasePickers(activity);
+
+        assertNotSame(picker, PickerPool.obtain(context, new MaterialNumberPicker.Builder(context)));
+    }
+}
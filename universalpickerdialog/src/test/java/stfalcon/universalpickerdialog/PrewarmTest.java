@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog;
+
+import android.app.Activity;
+import android.content.Context;
+import android.widget.NumberPicker;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+import stfalcon.universalpickerdialog.model.LabelCache;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 23)
+public class PrewarmTest {
+
+    private static final int SIZE = 200000;
+    private static final int DEFAULT_POSITION = 1000;
+    // NumberPicker draws the selected row and one row above and below it
+    private static final int VISIBLE_ROWS = 3;
+    private static final int SHOWS = 3;
+
+    private static final Executor CURRENT_THREAD = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    /**
+     * Shows dialogs with precomputed labels by {@link UniversalPickerDialog.Builder#show()} and compares
+     * build times reported to the {@link UniversalPickerDialog.MetricsListener}. Prewarming computes
+     * the labels before, so building only has to create views. Each dialog gets new inputs,
+     * and the fastest of several shows is compared, since creating views takes varying time.
+     */
+    @Test
+    public void prewarmedDialogIsBuiltFasterThanColdDialog() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        showDialog(activity, false);
+
+        long coldNanos = Long.MAX_VALUE;
+        long prewarmedNanos = Long.MAX_VALUE;
+        for (int i = 0; i < SHOWS; i++) {
+            coldNanos = Math.min(coldNanos, showDialog(activity, false));
+            prewarmedNanos = Math.min(prewarmedNanos, showDialog(activity, true));
+        }
+
+        assertTrue(prewarmedNanos < coldNanos);
+    }
+
+    @Test
+    public void prewarmFormatsLabelsAroundDefaultPosition() {
+        Context context = RuntimeEnvironment.application;
+        Locale locale = context.getResources().getConfiguration().locale;
+        UniversalPickerDialog.Input input = createInput(false);
+
+        new UniversalPickerDialog.Builder(context)
+                .setInputs(input)
+                .prewarm(CURRENT_THREAD);
+
+        LabelCache labels = (LabelCache) input.getLabels(locale);
+        for (int offset = -VISIBLE_ROWS / 2; offset <= VISIBLE_ROWS / 2; offset++) {
+            assertTrue(labels.isComputed(DEFAULT_POSITION + offset));
+        }
+        assertFalse(labels.isComputed(SIZE / 2));
+    }
+
+    private static UniversalPickerDialog.Input createInput(boolean precomputeLabels) {
+        UniversalPickerDialog.Input input = UniversalPickerDialog.Input.range(0, SIZE - 1, 1, DEFAULT_POSITION);
+        input.setFormatter(new NumberPicker.Formatter() {
+            @Override
+            public String format(int value) {
+                return "Item " + value;
+            }
+        });
+        input.setPrecomputeLabels(precomputeLabels);
+        return input;
+    }
+
+    /**
+     * @return build time of the shown dialog
+     */
+    private static long showDialog(Context context, boolean prewarm) {
+        BuildTimeListener metrics = new BuildTimeListener();
+        UniversalPickerDialog.Builder builder = new UniversalPickerDialog.Builder(context)
+                .setInputs(createInput(true))
+                .setMetricsListener(metrics);
+        if (prewarm) {
+            builder.prewarm(CURRENT_THREAD);
+        }
+        builder.show().cancel();
+        assertTrue(metrics.shown);
+        return metrics.buildNanos;
+    }
+
+    private static final class BuildTimeListener implements UniversalPickerDialog.MetricsListener {
+
+        long buildNanos;
+        boolean shown;
+
+        @Override
+        public void onBuilt(int key, long startNanos, long endNanos) {
+            buildNanos = endNanos - startNanos;
+        }
+
+        @Override
+        public void onShown(int key, long showNanos, long shownNanos) {
+            shown = true;
+        }
+
+        @Override
+        public void onScroll(int key, int column, long startNanos, long endNanos, boolean fling) {
+        }
+
+        @Override
+        public void onFormatterCalls(int key, int column, int count) {
+        }
+    }
+}
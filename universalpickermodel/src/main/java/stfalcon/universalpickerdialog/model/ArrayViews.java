@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list views over arrays passed by the caller.
+ * Arrays are wrapped without copying and are never written to: every mutator of these lists
+ * throws UnsupportedOperationException as inherited from AbstractList.
+ * */
+public final class ArrayViews {
+    private ArrayViews() { throw new AssertionError(); }
+
+    public static final class ObjectArrayView<T> extends AbstractList<T> implements RandomAccess {
+
+        private final T[] array;
+
+        public ObjectArrayView(T[] array) {
+            if (array == null) throw new NullPointerException("array == null");
+            this.array = array;
+        }
+
+        @Override
+        public T get(int index) {
+            return array[index];
+        }
+
+        @Override
+        public int size() {
+            return array.length;
+        }
+    }
+
+    public static final class IntArrayView extends AbstractList<Integer>
+            implements RandomAccess, LabelProvider, IntValueProvider {
+
+        private final int[] array;
+
+        public IntArrayView(int[] array) {
+            if (array == null) throw new NullPointerException("array == null");
+            this.array = array;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return array[index];
+        }
+
+        @Override
+        public int size() {
+            return array.length;
+        }
+
+        @Override
+        public int getValue(int position) {
+            return array[position];
+        }
+
+        @Override
+        public String getLabel(int position) {
+            return String.valueOf(array[position]);
+        }
+    }
+
+    public static final class LongArrayView extends AbstractList<Long>
+            implements RandomAccess, LabelProvider {
+
+        private final long[] array;
+
+        public LongArrayView(long[] array) {
+            if (array == null) throw new NullPointerException("array == null");
+            this.array = array;
+        }
+
+        @Override
+        public Long get(int index) {
+            return array[index];
+        }
+
+        @Override
+        public int size() {
+            return array.length;
+        }
+
+        @Override
+        public String getLabel(int position) {
+            return String.valueOf(array[position]);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Column of a calendar field (year, month, day, hour...) which values are a contiguous range.
+ * Bounds are changed in place when other fields change (e.g. count of days in month),
+ * so the column never reallocates anything. Labels of small numbers come from a shared table.
+ * */
+public final class CalendarColumn extends AbstractList<Integer>
+        implements RandomAccess, LabelProvider, IntValueProvider {
+
+    private static final String[] TWO_DIGITS = new String[60];
+
+    static {
+        for (int i = 0; i < TWO_DIGITS.length; i++) {
+            TWO_DIGITS[i] = i < 10 ? "0" + i : String.valueOf(i);
+        }
+    }
+
+    private final String[] names;
+    private final boolean twoDigits;
+    private int first;
+    private int last;
+
+    /**
+     * @param names labels by value, or null for numeric labels
+     * @param twoDigits whether numeric labels are zero-padded, values must be below 60 then
+     */
+    public CalendarColumn(int first, int last, String[] names, boolean twoDigits) {
+        this.names = names;
+        this.twoDigits = twoDigits;
+        setBounds(first, last);
+    }
+
+    /**
+     * @return whether the bounds have been changed
+     */
+    boolean setBounds(int first, int last) {
+        if (last < first) {
+            throw new IllegalArgumentException("last < first");
+        }
+        if (first == this.first && last == this.last) return false;
+        this.first = first;
+        this.last = last;
+        return true;
+    }
+
+    int getFirst() {
+        return first;
+    }
+
+    int getLast() {
+        return last;
+    }
+
+    /**
+     * @return position of the value, or of the closest bound if the value is out of them
+     */
+    public int getPosition(int value) {
+        return Math.max(first, Math.min(last, value)) - first;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getValue(index);
+    }
+
+    @Override
+    public int size() {
+        return last - first + 1;
+    }
+
+    @Override
+    public int getValue(int position) {
+        if (position < 0 || position > last - first) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size());
+        }
+        return first + position;
+    }
+
+    @Override
+    public String getLabel(int position) {
+        int value = getValue(position);
+        if (names != null) {
+            return names[value];
+        }
+        return twoDigits ? TWO_DIGITS[value] : String.valueOf(value);
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Data set of a column with its default position and labels, which the dialog binds its picker to.
+ * Labels are cached per locale while the data set and the formatter stay the same, so reopened dialogs
+ * reuse them, and indices of labels for search and sections are built outside of the lock of the column,
+ * so the wheel isn't blocked by them. Results computed for a data set which has been replaced meanwhile
+ * are dropped. It's thread-safe, and doesn't depend on Android.
+ * */
+public final class Column {
+
+    private static final int PREPARED_LABELS_AROUND = 16;
+
+    private final int defaultPosition;
+    private String id;
+    private AbstractList<?> list;
+    private LabelFormatter formatter;
+    private boolean precomputeLabels;
+    private LabelTable labelTable;
+    private LabelCache labelCache;
+    private Locale labelLocale;
+    private int labelListSize;
+    private int labelsVersion;
+    private long sharedSizeBytes;
+    private LabelIndex labelIndex;
+    private boolean sectionIndexEnabled;
+    private LabelFormatter sectionFormatter;
+    private SectionIndex sectionIndex;
+    private boolean frozen;
+
+    /**
+     * @param defaultPosition is a position of item which selected by default
+     * @param list data set, or null if it's set later by {@link #setList(AbstractList)}
+     * */
+    public Column(int defaultPosition, AbstractList<?> list) {
+        this.defaultPosition = defaultPosition;
+        this.list = list;
+    }
+
+    public int getDefaultPosition() {
+        return defaultPosition;
+    }
+
+    public synchronized String getId() {
+        return id;
+    }
+
+    /**
+     * Set identity of the data set, which is used for matching saved positions to this column
+     * */
+    public synchronized void setId(String id) {
+        checkNotFrozen();
+        this.id = id;
+    }
+
+    public synchronized AbstractList<?> getList() {
+        return list;
+    }
+
+    /**
+     * Replaces the data set, dropping labels computed for the previous one
+     * */
+    public synchronized void setList(AbstractList<?> list) {
+        this.list = list;
+        dropComputedLabels();
+    }
+
+    /**
+     * Set {@link LabelFormatter} for formatting items into labels, instead of their own labels
+     * */
+    public synchronized void setFormatter(LabelFormatter formatter) {
+        checkNotFrozen();
+        this.formatter = formatter;
+        dropComputedLabels();
+    }
+
+    /**
+     * Drops labels computed for the data set, after its items have been modified in place.
+     * Changes of the size of the list are noticed without it.
+     * */
+    public synchronized void notifyDataSetChanged() {
+        checkNotFrozen();
+        dropComputedLabels();
+    }
+
+    /**
+     * Enable computing of all labels at once, on their first request, instead of one by one as they are shown
+     * */
+    public synchronized void setPrecomputeLabels(boolean precomputeLabels) {
+        checkNotFrozen();
+        this.precomputeLabels = precomputeLabels;
+        if (!precomputeLabels) {
+            this.labelTable = null;
+        }
+    }
+
+    /**
+     * Enable index of sections, by first letters of labels or by keys of the section formatter
+     * */
+    public synchronized void setSectionIndexEnabled(boolean enabled) {
+        checkNotFrozen();
+        this.sectionIndexEnabled = enabled;
+        this.sectionIndex = null;
+    }
+
+    /**
+     * Set {@link LabelFormatter} for section keys of items and enable the index of sections
+     * */
+    public synchronized void setSectionFormatter(LabelFormatter sectionFormatter) {
+        checkNotFrozen();
+        this.sectionFormatter = sectionFormatter;
+        this.sectionIndexEnabled = sectionFormatter != null || sectionIndexEnabled;
+        this.sectionIndex = null;
+    }
+
+    /**
+     * Returns the item at given position
+     * */
+    public Object getItem(int position) {
+        return list.get(position);
+    }
+
+    /**
+     * Returns the value of item at given position: the number itself for {@link IntRange}s
+     * and other numeric data sets, and the position for any other one.
+     * */
+    public int getValue(int position) {
+        return list instanceof IntValueProvider
+                ? ((IntValueProvider) list).getValue(position)
+                : position;
+    }
+
+    /**
+     * Formats the label of the item at given position without caching it: with the formatter if it's set,
+     * as the label of a {@link LabelProvider} data set, or with toString() of the item
+     * */
+    public String formatLabel(int position) {
+        LabelFormatter formatter;
+        AbstractList<?> list;
+        synchronized (this) {
+            formatter = this.formatter;
+            list = this.list;
+        }
+        return formatLabel(list, formatter, position);
+    }
+
+    private static String formatLabel(List<?> list, LabelFormatter formatter, int position) {
+        if (formatter != null) {
+            return formatter.format(position);
+        } else if (list instanceof LabelProvider) {
+            return ((LabelProvider) list).getLabel(position);
+        } else {
+            return list.get(position).toString();
+        }
+    }
+
+    private static LabelProvider getLabelProvider(final List<?> list, final LabelFormatter formatter) {
+        return new LabelProvider() {
+            @Override
+            public int size() {
+                return list.size();
+            }
+
+            @Override
+            public String getLabel(int position) {
+                return formatLabel(list, formatter, position);
+            }
+        };
+    }
+
+    /**
+     * Makes this column immutable, so it can be shared between dialogs.
+     * Formatted labels are computed upfront in the locale the dialogs look them up in.
+     * Labels of a {@link LabelProvider} data set, such as a {@link StringTable}, are shared as they are,
+     * since a table of them would only copy them.
+     * */
+    public synchronized void share(String id, Locale locale) {
+        if (frozen && (id == null ? this.id == null : id.equals(this.id))) return;
+        checkNotFrozen();
+        this.id = id;
+        if (formatter == null && list instanceof LabelProvider) {
+            this.sharedSizeBytes = list instanceof StringTable
+                    ? ((StringTable) list).getSizeBytes()
+                    : estimateCacheSizeBytes();
+        } else {
+            this.precomputeLabels = true;
+            this.sharedSizeBytes = getLabelTable(locale).getSizeBytes();
+        }
+        this.frozen = true;
+    }
+
+    /* size of the cache of labels once all of them have been shown, estimated by the default label */
+    private long estimateCacheSizeBytes() {
+        int size = list.size();
+        if (size == 0) return 0;
+        String label = ((LabelProvider) list).getLabel(Math.max(0, Math.min(defaultPosition, size - 1)));
+        return LabelTable.estimateSizeBytes(size, label != null ? label.length() : 0);
+    }
+
+    /**
+     * @throws IllegalStateException if the column has been shared and can't be modified anymore
+     * */
+    public synchronized void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Input registered in InputRegistry can't be modified");
+        }
+    }
+
+    /**
+     * @return size of the labels of a shared column in bytes
+     * */
+    public synchronized long getSharedSizeBytes() {
+        return sharedSizeBytes;
+    }
+
+    private void dropComputedLabels() {
+        labelsVersion++;
+        labelTable = null;
+        labelCache = null;
+        labelIndex = null;
+        sectionIndex = null;
+    }
+
+    /**
+     * @return version of the labels, which changes whenever computed labels are dropped,
+     * so results computed outside of the lock can be checked before they're kept
+     * */
+    public synchronized int getLabelsVersion() {
+        return labelsVersion;
+    }
+
+    /**
+     * Computes labels around the default position (or all of them if they are precomputed),
+     * so the picker finds them ready. May be called from any thread.
+     * */
+    public void prepareLabels(Locale locale) {
+        LabelProvider labels;
+        int position;
+        synchronized (this) {
+            if (list == null) return;
+            labels = getLabels(locale);
+            position = Math.max(0, Math.min(defaultPosition, list.size() - 1));
+        }
+
+        if (labels instanceof LabelCache) {
+            // the wheel shows the default position with its neighbours, wrapping around
+            int size = labels.size();
+            for (int offset = -PREPARED_LABELS_AROUND; offset <= PREPARED_LABELS_AROUND; offset++) {
+                labels.getLabel(((position + offset) % size + size) % size);
+            }
+        }
+    }
+
+    public synchronized LabelTable getLabelTable(Locale locale) {
+        checkLabels(locale);
+        if (labelTable == null) {
+            labelTable = LabelTable.build(getLabelProvider(list, formatter));
+        }
+        return labelTable;
+    }
+
+    /**
+     * Returns labels for the wheel: the precomputed table, a cache of labels formatted so far,
+     * or, for {@link StringTable}s, labels created on every request.
+     * Labels are kept while the data set, the formatter and the locale stay the same,
+     * so reopened dialogs reuse them.
+     * */
+    public synchronized LabelProvider getLabels(Locale locale) {
+        if (precomputeLabels) {
+            return getLabelTable(locale);
+        }
+        checkLabels(locale);
+        if (labelCache != null) {
+            return labelCache;
+        }
+        LabelProvider labels = getLabelProvider(list, formatter);
+        if (formatter == null && list instanceof StringTable) {
+            // creating a string is all it takes, caching would only keep them
+            return labels;
+        }
+        labelCache = new LabelCache(labels);
+        return labelCache;
+    }
+
+    /**
+     * Returns labels for computing indices and widths: the precomputed table, or labels formatted
+     * on every request. The cache of the wheel isn't filled with labels it may never show.
+     * */
+    public synchronized LabelProvider getComputedLabels(Locale locale) {
+        checkLabels(locale);
+        if (labelTable != null) return labelTable;
+        return getLabelProvider(list, formatter);
+    }
+
+    /**
+     * Drops labels computed in another locale, e.g. before a configuration change,
+     * since formatters usually produce localized strings.
+     * Also drops them if the list has been resized since, so positions of the labels are never stale.
+     * */
+    private void checkLabels(Locale locale) {
+        int size = list.size();
+        if (!locale.equals(labelLocale) || size != labelListSize) {
+            labelLocale = locale;
+            labelListSize = size;
+            dropComputedLabels();
+        }
+    }
+
+    /**
+     * @return whether the section index is enabled, it's never shown for {@link PagedList}s
+     * */
+    public synchronized boolean hasSections() {
+        return sectionIndexEnabled && !(list instanceof PagedList);
+    }
+
+    /**
+     * Returns section index for the locale, building it if needed.
+     * The index is built outside of the lock, so the wheel isn't blocked by it.
+     * */
+    public SectionIndex getSectionIndex(final Locale locale) {
+        int version;
+        final LabelFormatter sectionFormatter;
+        final LabelProvider labels;
+        synchronized (this) {
+            labels = getComputedLabels(locale);
+            if (sectionIndex != null) {
+                return sectionIndex;
+            }
+            version = labelsVersion;
+            sectionFormatter = this.sectionFormatter;
+        }
+
+        SectionIndex index = SectionIndex.build(new LabelProvider() {
+            @Override
+            public int size() {
+                return labels.size();
+            }
+
+            @Override
+            public String getLabel(int position) {
+                return sectionFormatter != null
+                        ? sectionFormatter.format(position)
+                        : SectionIndex.getFirstLetter(labels.getLabel(position), locale);
+            }
+        });
+        synchronized (this) {
+            if (labelsVersion == version) {
+                sectionIndex = index;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns search index of labels for the locale, building it if needed.
+     * The index is built outside of the lock, so replacing the data set isn't blocked by it.
+     * */
+    public LabelIndex getLabelIndex(Locale locale) {
+        int version;
+        LabelProvider labels;
+        synchronized (this) {
+            labels = getComputedLabels(locale);
+            if (labelIndex != null) {
+                return labelIndex;
+            }
+            version = labelsVersion;
+        }
+
+        LabelIndex index = LabelIndex.build(labels, locale);
+        synchronized (this) {
+            if (labelsVersion == version) {
+                labelIndex = index;
+            }
+        }
+        return index;
+    }
+}
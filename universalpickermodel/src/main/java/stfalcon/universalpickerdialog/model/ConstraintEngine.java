@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Evaluates constraints between pairs of columns.
+ * Constraints are stored as bitsets in both directions: for a position of one column,
+ * the allowed positions of the other one. A bitset is evaluated the first time the position is selected,
+ * with one relation call per position of the other column, and cached until the size of either column changes.
+ * Allowed positions of a column are then an AND of one bitset per constraint,
+ * which takes O(constraints x words) and doesn't allocate once the bitsets are cached.
+ * Tables take up to (size of first column x size of second column / 4) bytes per constraint,
+ * so constraints are meant for columns of up to a few thousands of items.
+ * */
+public final class ConstraintEngine {
+
+    public interface Relation {
+        boolean allows(int firstPosition, int secondPosition);
+    }
+
+    private final int[] sizes;
+    private final ArrayList<Link> links = new ArrayList<>();
+    private long[] allowed = new long[0];
+
+    public ConstraintEngine(int[] sizes) {
+        this.sizes = sizes.clone();
+    }
+
+    public void add(int firstColumn, int secondColumn, Relation relation) {
+        if (firstColumn == secondColumn
+                || firstColumn < 0 || firstColumn >= sizes.length
+                || secondColumn < 0 || secondColumn >= sizes.length) {
+            throw new IllegalArgumentException(
+                    "Invalid constraint columns: " + firstColumn + ", " + secondColumn);
+        }
+        Link link = new Link(firstColumn, secondColumn, relation);
+        link.reset(sizes);
+        links.add(link);
+    }
+
+    /**
+     * Drops evaluated constraints of the column, when its data set has been changed
+     */
+    public void setSize(int column, int size) {
+        sizes[column] = size;
+        for (Link link : links) {
+            if (link.first == column || link.second == column) {
+                link.reset(sizes);
+            }
+        }
+    }
+
+    /**
+     * @param positions selected positions of all columns
+     * @return bitset of the positions of the column allowed by the other columns.
+     * The array is reused by the next call.
+     */
+    long[] getAllowed(int column, int[] positions) {
+        int size = sizes[column];
+        int words = wordCount(size);
+        if (allowed.length < words) {
+            allowed = new long[words];
+        }
+        Arrays.fill(allowed, 0, words, -1L);
+        if (size % 64 != 0) {
+            allowed[words - 1] = (1L << size) - 1;
+        }
+        for (int i = 0, count = links.size(); i < count; i++) {
+            long[] row = links.get(i).getRow(column, positions);
+            if (row == null) continue;
+            for (int w = 0; w < words; w++) {
+                allowed[w] &= row[w];
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * @return the position itself if it's allowed, the nearest allowed position,
+     * or -1 if no position of the column is allowed
+     */
+    public int findNearestAllowed(int column, int position, int[] positions) {
+        long[] allowed = getAllowed(column, positions);
+        int size = sizes[column];
+        if (position >= 0 && position < size && isSet(allowed, position)) {
+            return position;
+        }
+        int next = -1;
+        for (int i = Math.max(position + 1, 0); i < size; i++) {
+            if (isSet(allowed, i)) {
+                next = i;
+                break;
+            }
+        }
+        int previous = -1;
+        for (int i = Math.min(position - 1, size - 1); i >= 0; i--) {
+            if (isSet(allowed, i)) {
+                previous = i;
+                break;
+            }
+        }
+        if (next < 0) return previous;
+        if (previous < 0) return next;
+        return next - position <= position - previous ? next : previous;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static int wordCount(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    private static final class Link {
+
+        final int first;
+        final int second;
+        final Relation relation;
+
+        int firstSize;
+        int secondSize;
+        /* allowed positions of the first column, by position of the second one, null until evaluated */
+        long[][] firstRows;
+        /* allowed positions of the second column, by position of the first one, null until evaluated */
+        long[][] secondRows;
+
+        Link(int first, int second, Relation relation) {
+            this.first = first;
+            this.second = second;
+            this.relation = relation;
+        }
+
+        void reset(int[] sizes) {
+            firstSize = sizes[first];
+            secondSize = sizes[second];
+            firstRows = new long[secondSize][];
+            secondRows = new long[firstSize][];
+        }
+
+        long[] getRow(int column, int[] positions) {
+            if (column == first) {
+                int position = positions[second];
+                if (position < 0 || position >= secondSize) return null;
+                long[] row = firstRows[position];
+                if (row == null) {
+                    row = new long[wordCount(firstSize)];
+                    for (int i = 0; i < firstSize; i++) {
+                        if (relation.allows(i, position)) {
+                            row[i >>> 6] |= 1L << i;
+                        }
+                    }
+                    firstRows[position] = row;
+                }
+                return row;
+            } else if (column == second) {
+                int position = positions[first];
+                if (position < 0 || position >= firstSize) return null;
+                long[] row = secondRows[position];
+                if (row == null) {
+                    row = new long[wordCount(secondSize)];
+                    for (int j = 0; j < secondSize; j++) {
+                        if (relation.allows(position, j)) {
+                            row[j >>> 6] |= 1L << j;
+                        }
+                    }
+                    secondRows[position] = row;
+                }
+                return row;
+            }
+            return null;
+        }
+    }
+}
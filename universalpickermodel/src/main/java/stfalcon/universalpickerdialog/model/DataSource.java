@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.util.List;
+
+/**
+ * Windowed source of items for an {@code UniversalPickerDialog.Input}.
+ * Only the pages around the current wheel position are requested, so the data set
+ * doesn't need to be held in memory as a whole.
+ * Both methods are called on the main thread, except that {@link #load(int, int)} is also called
+ * on the executor of {@code UniversalPickerDialog.Builder.prewarm(Executor)} if the dialog is prewarmed.
+ * */
+public interface DataSource<T> {
+
+    /**
+     * @return total count of items. It's requested once, when the {@code UniversalPickerDialog.Input} is created.
+     * */
+    int size();
+
+    /**
+     * Loads a range of items
+     *
+     * @param start position of the first item to load
+     * @param count count of items to load, never exceeds the remaining count of items
+     * @return list with exactly {@code count} items
+     * */
+    List<T> load(int start, int count);
+}
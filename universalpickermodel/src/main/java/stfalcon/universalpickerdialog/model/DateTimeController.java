@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.text.DateFormatSymbols;
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * Keeps date and time columns of a dialog consistent with the calendar.
+ * When year or month changes, bounds of the month and day columns are recalculated
+ * (count of days, leap years, min and max dates) and only the columns whose bounds have changed
+ * are adjusted, keeping their selected value where possible.
+ * Min and max bound dates only, time of day isn't restricted.
+ * */
+public final class DateTimeController {
+
+    public static final int YEAR = 0;
+    public static final int MONTH = 1;
+    public static final int DAY = 2;
+    public static final int HOUR = 3;
+    public static final int MINUTE = 4;
+    public static final int AM_PM = 5;
+
+    public interface Binder {
+        int getPosition(int column);
+
+        void onBoundsChanged(int column, int position);
+    }
+
+    private final Calendar min;
+    private final Calendar max;
+    private final Calendar calendar;
+    private final boolean withTime;
+    private final boolean is24HourFormat;
+
+    private final CalendarColumn years;
+    private final CalendarColumn months;
+    private final CalendarColumn days;
+    private final CalendarColumn hours;
+    private final CalendarColumn minutes;
+    private final CalendarColumn amPm;
+
+    private Binder binder;
+
+    public DateTimeController(long minDate, long maxDate, boolean withTime, boolean is24HourFormat, Locale locale) {
+        if (maxDate < minDate) {
+            throw new IllegalArgumentException("maxDate < minDate");
+        }
+        this.min = Calendar.getInstance(locale);
+        this.min.setTimeInMillis(minDate);
+        this.max = Calendar.getInstance(locale);
+        this.max.setTimeInMillis(maxDate);
+        this.calendar = Calendar.getInstance(locale);
+        this.withTime = withTime;
+        this.is24HourFormat = is24HourFormat;
+
+        DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
+        this.years = new CalendarColumn(min.get(Calendar.YEAR), max.get(Calendar.YEAR), null, false);
+        this.months = new CalendarColumn(0, 11, symbols.getShortMonths(), false);
+        this.days = new CalendarColumn(1, 31, null, false);
+        if (withTime) {
+            this.hours = is24HourFormat
+                    ? new CalendarColumn(0, 23, null, true)
+                    : new CalendarColumn(0, 11, getTwelveHourNames(), false);
+            this.minutes = new CalendarColumn(0, 59, null, true);
+            this.amPm = is24HourFormat ? null : new CalendarColumn(0, 1, symbols.getAmPmStrings(), false);
+        } else {
+            this.hours = null;
+            this.minutes = null;
+            this.amPm = null;
+        }
+    }
+
+    private static String[] getTwelveHourNames() {
+        String[] names = new String[12];
+        names[0] = "12";
+        for (int i = 1; i < names.length; i++) {
+            names[i] = String.valueOf(i);
+        }
+        return names;
+    }
+
+    public void setBinder(Binder binder) {
+        this.binder = binder;
+    }
+
+    /**
+     * @return columns in the order of YEAR, MONTH, DAY, HOUR, MINUTE, AM_PM, without unused ones
+     */
+    public CalendarColumn[] getColumns() {
+        CalendarColumn[] columns = new CalendarColumn[getColumnCount()];
+        columns[YEAR] = years;
+        columns[MONTH] = months;
+        columns[DAY] = days;
+        if (withTime) {
+            columns[HOUR] = hours;
+            columns[MINUTE] = minutes;
+            if (amPm != null) {
+                columns[AM_PM] = amPm;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Selects the date clamped to min and max dates, so the bounds of the columns match it
+     *
+     * @return positions of the date in the columns
+     */
+    public int[] select(long date) {
+        calendar.setTimeInMillis(Math.max(min.getTimeInMillis(), Math.min(max.getTimeInMillis(), date)));
+        int year = calendar.get(Calendar.YEAR);
+        int month = calendar.get(Calendar.MONTH);
+        int day = calendar.get(Calendar.DAY_OF_MONTH);
+        int hour = calendar.get(is24HourFormat ? Calendar.HOUR_OF_DAY : Calendar.HOUR);
+        int minute = calendar.get(Calendar.MINUTE);
+        int amPmValue = calendar.get(Calendar.AM_PM);
+        // the calendar is reused for computing bounds, so the fields are read first
+        setMonthBounds(year);
+        setDayBounds(year, month);
+
+        int[] positions = new int[getColumnCount()];
+        positions[YEAR] = years.getPosition(year);
+        positions[MONTH] = months.getPosition(month);
+        positions[DAY] = days.getPosition(day);
+        if (withTime) {
+            positions[HOUR] = hours.getPosition(hour);
+            positions[MINUTE] = minutes.getPosition(minute);
+            if (amPm != null) {
+                positions[AM_PM] = amPm.getPosition(amPmValue);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Sets bounds of the month or the day column for the values at the positions of the columns before it,
+     * e.g. when positions are restored one by one. Other columns have fixed bounds.
+     */
+    public void updateBounds(int column, int[] positions) {
+        if (column == MONTH) {
+            setMonthBounds(years.getValue(positions[YEAR]));
+        } else if (column == DAY) {
+            setDayBounds(years.getValue(positions[YEAR]), months.getValue(positions[MONTH]));
+        }
+    }
+
+    private int getColumnCount() {
+        if (!withTime) return DAY + 1;
+        return is24HourFormat ? MINUTE + 1 : AM_PM + 1;
+    }
+
+    public void onValueChanged(int column) {
+        if (column == YEAR) {
+            updateMonths();
+            updateDays();
+        } else if (column == MONTH) {
+            updateDays();
+        }
+    }
+
+    private void updateMonths() {
+        int month = months.getValue(binder.getPosition(MONTH));
+        if (setMonthBounds(years.getValue(binder.getPosition(YEAR)))) {
+            binder.onBoundsChanged(MONTH, months.getPosition(month));
+        }
+    }
+
+    private void updateDays() {
+        int day = days.getValue(binder.getPosition(DAY));
+        int year = years.getValue(binder.getPosition(YEAR));
+        int month = months.getValue(binder.getPosition(MONTH));
+        if (setDayBounds(year, month)) {
+            binder.onBoundsChanged(DAY, days.getPosition(day));
+        }
+    }
+
+    private boolean setMonthBounds(int year) {
+        int first = year == min.get(Calendar.YEAR) ? min.get(Calendar.MONTH) : 0;
+        int last = year == max.get(Calendar.YEAR) ? max.get(Calendar.MONTH) : 11;
+        return months.setBounds(first, last);
+    }
+
+    private boolean setDayBounds(int year, int month) {
+        calendar.clear();
+        calendar.set(year, month, 1);
+        int first = isMonthOf(min, year, month) ? min.get(Calendar.DAY_OF_MONTH) : 1;
+        int last = isMonthOf(max, year, month)
+                ? max.get(Calendar.DAY_OF_MONTH)
+                : calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+        return days.setBounds(first, last);
+    }
+
+    private static boolean isMonthOf(Calendar calendar, int year, int month) {
+        return calendar.get(Calendar.YEAR) == year && calendar.get(Calendar.MONTH) == month;
+    }
+
+    /**
+     * @return date and time selected at the positions of the columns
+     */
+    public long getTimeInMillis(int[] positions) {
+        calendar.clear();
+        calendar.set(years.getValue(positions[YEAR]),
+                months.getValue(positions[MONTH]),
+                days.getValue(positions[DAY]));
+        if (withTime) {
+            if (is24HourFormat) {
+                calendar.set(Calendar.HOUR_OF_DAY, hours.getValue(positions[HOUR]));
+            } else {
+                calendar.set(Calendar.HOUR, hours.getValue(positions[HOUR]));
+                calendar.set(Calendar.AM_PM, amPm.getValue(positions[AM_PM]));
+            }
+            calendar.set(Calendar.MINUTE, minutes.getValue(positions[MINUTE]));
+        }
+        return calendar.getTimeInMillis();
+    }
+}
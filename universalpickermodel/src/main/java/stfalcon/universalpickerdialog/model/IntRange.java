@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.text.DecimalFormat;
+import java.text.FieldPosition;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Arithmetic progression of int values which maps positions to values on the fly,
+ * so memory use doesn't depend on the length of the range.
+ * Labels are formatted into a reused buffer.
+ * */
+public final class IntRange extends AbstractList<Integer>
+        implements RandomAccess, LabelProvider, IntValueProvider {
+
+    private final int start;
+    private final int step;
+    private final int size;
+    private final DecimalFormat format;
+    private final StringBuffer buffer;
+    private final FieldPosition fieldPosition;
+
+    public IntRange(int start, int end, int step, String pattern) {
+        if (step == 0) {
+            throw new IllegalArgumentException("step must not be 0");
+        }
+        if ((step > 0 && end < start) || (step < 0 && end > start)) {
+            throw new IllegalArgumentException(
+                    "Range from " + start + " to " + end + " can't be walked with step " + step);
+        }
+        long size = ((long) end - start) / step + 1;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Range from " + start + " to " + end + " with step " + step
+                    + " has more than " + Integer.MAX_VALUE + " values");
+        }
+        this.start = start;
+        this.step = step;
+        this.size = (int) size;
+
+        if (pattern != null) {
+            this.format = new DecimalFormat(pattern);
+            this.buffer = new StringBuffer();
+            this.fieldPosition = new FieldPosition(0);
+        } else {
+            this.format = null;
+            this.buffer = null;
+            this.fieldPosition = null;
+        }
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getValue(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int getValue(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size);
+        }
+        return start + position * step;
+    }
+
+    /**
+     * @return position of the given value or of the closest value within the range
+     */
+    public int getPosition(int value) {
+        long position = Math.round(((double) value - start) / step);
+        return (int) Math.max(0, Math.min(size - 1, position));
+    }
+
+    @Override
+    public String getLabel(int position) {
+        int value = getValue(position);
+        if (format == null) {
+            return String.valueOf(value);
+        }
+        synchronized (buffer) {
+            buffer.setLength(0);
+            return format.format(value, buffer, fieldPosition).toString();
+        }
+    }
+}
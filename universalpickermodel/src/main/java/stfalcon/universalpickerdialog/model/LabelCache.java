@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+/**
+ * Labels of a data set, computed on first request and kept afterwards.
+ * Unlike LabelTable nothing is computed upfront, so only the labels which have been shown are paid for.
+ * Labels are stored in chunks allocated on first use, so memory follows the count of computed labels
+ * rather than the size of the data set.
+ * Labels may be requested from several threads (the wheel and a background prefetch):
+ * concurrent requests of the same label may compute it twice, which is harmless for immutable strings.
+ * */
+public final class LabelCache implements LabelProvider {
+
+    static final int CHUNK_SIZE = 256;
+    private static final int CHUNK_SHIFT = 8;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final LabelProvider source;
+    private final int size;
+    private final String[][] chunks;
+
+    public LabelCache(LabelProvider source) {
+        this.source = source;
+        this.size = source.size();
+        this.chunks = new String[getChunkCount()][];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    int getChunkCount() {
+        return (size + CHUNK_MASK) >>> CHUNK_SHIFT;
+    }
+
+    @Override
+    public String getLabel(int position) {
+        String[] chunk = getChunk(position);
+        String label = chunk[position & CHUNK_MASK];
+        if (label == null) {
+            label = source.getLabel(position);
+            chunk[position & CHUNK_MASK] = label;
+        }
+        return label;
+    }
+
+    public boolean isComputed(int position) {
+        String[] chunk = chunks[position >>> CHUNK_SHIFT];
+        return chunk != null && chunk[position & CHUNK_MASK] != null;
+    }
+
+    private String[] getChunk(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("position: " + position + ", size: " + size);
+        }
+        String[] chunk = chunks[position >>> CHUNK_SHIFT];
+        if (chunk == null) {
+            chunk = new String[CHUNK_SIZE];
+            chunks[position >>> CHUNK_SHIFT] = chunk;
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.regex.Pattern;
+
+/**
+ * Sorted index of normalized labels for prefix search.
+ * Labels are lower-cased for the locale and stripped of diacritics once, when the index is built,
+ * so each lookup is a binary search that doesn't touch the data set.
+ * */
+public final class LabelIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int CANCELLATION_CHECK_MASK = 0xFF;
+
+    private final Locale locale;
+    private final String[] keys;
+    private final int[] positions;
+
+    private LabelIndex(Locale locale, String[] keys, int[] positions) {
+        this.locale = locale;
+        this.keys = keys;
+        this.positions = positions;
+    }
+
+    /**
+     * @throws CancellationException if the building thread is interrupted
+     */
+    public static LabelIndex build(LabelProvider provider, Locale locale) {
+        int size = provider.size();
+        Entry[] entries = new Entry[size];
+        for (int i = 0; i < size; i++) {
+            if ((i & CANCELLATION_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Label index building was interrupted");
+            }
+            entries[i] = new Entry(normalize(provider.getLabel(i), locale), i);
+        }
+        Arrays.sort(entries, Entry.COMPARATOR);
+
+        String[] keys = new String[size];
+        int[] positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = entries[i].key;
+            positions[i] = entries[i].position;
+        }
+        return new LabelIndex(locale, keys, positions);
+    }
+
+    static String normalize(CharSequence label, Locale locale) {
+        if (label == null) return "";
+        String decomposed = Normalizer.normalize(label, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(locale);
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * @return position of the first label (in alphabetical order) which starts with the query,
+     * or -1 if there is no such label
+     */
+    public int find(CharSequence query) {
+        String prefix = normalize(query, locale);
+        if (prefix.isEmpty()) return -1;
+
+        int index = lowerBound(prefix);
+        return index < keys.length && keys[index].startsWith(prefix)
+                ? positions[index]
+                : -1;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static final class Entry {
+
+        static final Comparator<Entry> COMPARATOR = new Comparator<Entry>() {
+            @Override
+            public int compare(Entry a, Entry b) {
+                int result = a.key.compareTo(b.key);
+                return result != 0 ? result : a.position - b.position;
+            }
+        };
+
+        final String key;
+        final int position;
+
+        Entry(String key, int position) {
+            this.key = key;
+            this.position = position;
+        }
+    }
+}
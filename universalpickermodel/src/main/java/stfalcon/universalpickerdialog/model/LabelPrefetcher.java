@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Computes labels of the columns on an executor ahead of the wheel, so drawing finds them in LabelCaches.
+ * Labels are computed chunk by chunk, nearest to the selected position first (wrapping around,
+ * as the wheel does), up to MAX_CHUNKS chunks per column. When the selection moves to another chunk
+ * the work is started over from the new position.
+ * Outdated and cancelled work stops before computing the next label.
+ * */
+public final class LabelPrefetcher {
+
+    static final int MAX_CHUNKS = 32;
+
+    private final Executor executor;
+    private final LabelCache[] caches;
+    private final int[] centers;
+    private final AtomicIntegerArray generations;
+    private volatile boolean cancelled;
+
+    public LabelPrefetcher(int columnCount, Executor executor) {
+        this.executor = executor;
+        this.caches = new LabelCache[columnCount];
+        this.centers = new int[columnCount];
+        this.generations = new AtomicIntegerArray(columnCount);
+    }
+
+    /**
+     * Sets labels of the column and starts computing them around the position.
+     * Only LabelCaches are filled, other labels don't need it.
+     *
+     * @param labels labels of the column, or null to compute nothing for it
+     */
+    public void setLabels(int column, LabelProvider labels, int position) {
+        generations.incrementAndGet(column);
+        caches[column] = labels instanceof LabelCache ? (LabelCache) labels : null;
+        centers[column] = -1;
+        onPositionChanged(column, position);
+    }
+
+    public void onPositionChanged(final int column, int position) {
+        final LabelCache cache = caches[column];
+        if (cache == null || cancelled) return;
+
+        final int center = position / LabelCache.CHUNK_SIZE;
+        if (center == centers[column]) return;
+        centers[column] = center;
+
+        final int generation = generations.incrementAndGet(column);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                prefetch(column, cache, center, generation);
+            }
+        });
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private void prefetch(int column, LabelCache cache, int center, int generation) {
+        int count = cache.getChunkCount();
+        int computed = 0;
+        for (int distance = 0; distance <= count / 2 && computed < MAX_CHUNKS; distance++) {
+            int after = (center + distance) % count;
+            if (!computeChunk(column, cache, after, generation)) return;
+            computed++;
+
+            int before = (center - distance + count) % count;
+            if (before != after) {
+                if (!computeChunk(column, cache, before, generation)) return;
+                computed++;
+            }
+        }
+    }
+
+    /**
+     * @return false if the work is outdated or cancelled
+     */
+    private boolean computeChunk(int column, LabelCache cache, int chunk, int generation) {
+        int start = chunk * LabelCache.CHUNK_SIZE;
+        int end = Math.min(start + LabelCache.CHUNK_SIZE, cache.size());
+        for (int i = start; i < end; i++) {
+            if (cancelled || generations.get(column) != generation) return false;
+            if (!cache.isComputed(i)) {
+                cache.getLabel(i);
+            }
+        }
+        return true;
+    }
+}
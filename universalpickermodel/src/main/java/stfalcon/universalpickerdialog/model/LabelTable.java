@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Immutable table of labels computed once for the whole data set,
+ * so the wheel can be redrawn without formatting (and allocating) anything.
+ * */
+public final class LabelTable implements LabelProvider {
+
+    private static final int CANCELLATION_CHECK_MASK = 0xFF;
+
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final String[] labels;
+    private final long sizeBytes;
+
+    private LabelTable(String[] labels, long sizeBytes) {
+        this.labels = labels;
+        this.sizeBytes = sizeBytes;
+    }
+
+    /**
+     * @throws CancellationException if the building thread is interrupted
+     */
+    public static LabelTable build(LabelProvider provider) {
+        String[] labels = new String[provider.size()];
+        long sizeBytes = (long) labels.length * REFERENCE_BYTES;
+        for (int i = 0; i < labels.length; i++) {
+            if ((i & CANCELLATION_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Label table building was interrupted");
+            }
+            labels[i] = provider.getLabel(i);
+            if (labels[i] != null) {
+                sizeBytes += STRING_OVERHEAD_BYTES + 2L * labels[i].length();
+            }
+        }
+        return new LabelTable(labels, sizeBytes);
+    }
+
+    /* estimated heap size of a table of the given count of labels of the given length */
+    static long estimateSizeBytes(int count, int labelLength) {
+        return (long) count * (REFERENCE_BYTES + STRING_OVERHEAD_BYTES + 2L * labelLength);
+    }
+
+    /**
+     * @return estimated heap size of the table and its labels
+     */
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    @Override
+    public int size() {
+        return labels.length;
+    }
+
+    @Override
+    public String getLabel(int position) {
+        return labels[position];
+    }
+}
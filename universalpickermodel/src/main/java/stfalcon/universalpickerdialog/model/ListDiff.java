@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Compares an old and a new version of a data set, to keep the selected item when the data set is replaced.
+ * Items are matched by equals(). Lookups start at the old position and go outwards,
+ * so the common cases (nothing moved, a few items inserted or removed nearby) take a few comparisons,
+ * and a full pass is made only when the selected item has been removed.
+ * Paged lists are never compared, since it would load all of their pages.
+ * */
+public final class ListDiff {
+    private ListDiff() { throw new AssertionError(); }
+
+    static final int NO_POSITION = -1;
+
+    /**
+     * @return whether the lists have equal items in the same order, false for different paged lists
+     */
+    public static boolean isSame(List<?> oldList, List<?> newList) {
+        if (oldList == newList) return true;
+        if (oldList instanceof PagedList || newList instanceof PagedList) return false;
+        int size = oldList.size();
+        if (size != newList.size()) return false;
+        for (int i = 0; i < size; i++) {
+            if (!equal(oldList.get(i), newList.get(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return position of the selected item in the new list, or if it's been removed,
+     * position of its nearest neighbour in the old list which is still there (the following one on a tie).
+     * {@link #NO_POSITION} if none of the old items is in the new list.
+     */
+    static int findPosition(List<?> oldList, int oldPosition, List<?> newList) {
+        int position = indexNear(newList, oldList.get(oldPosition), oldPosition);
+        if (position != NO_POSITION) return position;
+
+        HashMap<Object, Integer> newPositions = new HashMap<>();
+        for (int i = newList.size() - 1; i >= 0; i--) {
+            newPositions.put(newList.get(i), i);
+        }
+        int size = oldList.size();
+        for (int distance = 1; oldPosition - distance >= 0 || oldPosition + distance < size; distance++) {
+            int after = oldPosition + distance;
+            if (after < size) {
+                Integer neighbour = newPositions.get(oldList.get(after));
+                if (neighbour != null) return neighbour;
+            }
+            int before = oldPosition - distance;
+            if (before >= 0) {
+                Integer neighbour = newPositions.get(oldList.get(before));
+                if (neighbour != null) return neighbour;
+            }
+        }
+        return NO_POSITION;
+    }
+
+    /**
+     * @param oldList list the position was selected in, or null if there was none
+     * @return position to select in the new list instead of the old position: the position found by
+     * {@link #findPosition(List, int, List)}, or if none of the old items is there (or either list is paged),
+     * the old position clamped to the new list
+     */
+    public static int findNewPosition(List<?> oldList, int oldPosition, List<?> newList) {
+        if (oldList == newList) return oldPosition;
+
+        int position = NO_POSITION;
+        if (oldList != null && oldPosition >= 0 && oldPosition < oldList.size()
+                && !(oldList instanceof PagedList) && !(newList instanceof PagedList)) {
+            position = findPosition(oldList, oldPosition, newList);
+        }
+        return position != NO_POSITION
+                ? position
+                : Math.max(0, Math.min(oldPosition, newList.size() - 1));
+    }
+
+    /**
+     * @return position of the item nearest to the given one, or {@link #NO_POSITION}
+     */
+    private static int indexNear(List<?> list, Object item, int position) {
+        int size = list.size();
+        for (int distance = 0; position - distance >= 0 || position + distance < size; distance++) {
+            int after = position + distance;
+            if (after < size && equal(list.get(after), item)) return after;
+            int before = position - distance;
+            if (distance > 0 && before >= 0 && before < size && equal(list.get(before), item)) return before;
+        }
+        return NO_POSITION;
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
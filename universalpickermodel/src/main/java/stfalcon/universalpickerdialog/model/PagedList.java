@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Read-only list over a DataSource which keeps a bounded count of pages in memory.
+ * Pages are loaded on demand and the least recently used page is evicted when the cache is full.
+ * Lookups don't allocate, so the list can be read on every wheel redraw.
+ * Lookups are synchronized, so the list may be read from several threads: a page and its number
+ * are always seen together, and a missing page is loaded by one reader at a time.
+ * */
+public final class PagedList<T> extends AbstractList<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int DEFAULT_MAX_PAGES = 5;
+
+    private final DataSource<T> source;
+    private final int size;
+    private final int pageSize;
+
+    private final int[] pageNumbers;
+    private final List<?>[] pages;
+    private final long[] lastAccess;
+    private long accessCounter;
+
+    public PagedList(DataSource<T> source, int pageSize, int maxPages) {
+        if (pageSize <= 0 || maxPages <= 0) {
+            throw new IllegalArgumentException("pageSize and maxPages must be positive");
+        }
+        this.source = source;
+        this.size = source.size();
+        this.pageSize = pageSize;
+        this.pageNumbers = new int[maxPages];
+        this.pages = new List<?>[maxPages];
+        this.lastAccess = new long[maxPages];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return position of the first item of the page which contains the position
+     */
+    public int getPageStart(int position) {
+        return position / pageSize * pageSize;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int page = index / pageSize;
+        int slot = findSlot(page);
+        if (slot < 0) {
+            slot = loadPage(page);
+        }
+        lastAccess[slot] = ++accessCounter;
+        return (T) pages[slot].get(index - page * pageSize);
+    }
+
+    private int findSlot(int page) {
+        for (int i = 0; i < pages.length; i++) {
+            if (pages[i] != null && pageNumbers[i] == page) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int loadPage(int page) {
+        int start = page * pageSize;
+        int count = Math.min(pageSize, size - start);
+        List<T> items = source.load(start, count);
+        if (items == null || items.size() != count) {
+            throw new IllegalStateException("DataSource returned "
+                    + (items == null ? "null" : items.size() + " items")
+                    + " for a page of " + count + " items at " + start);
+        }
+
+        int slot = 0;
+        for (int i = 0; i < pages.length; i++) {
+            if (pages[i] == null) {
+                slot = i;
+                break;
+            }
+            if (lastAccess[i] < lastAccess[slot]) {
+                slot = i;
+            }
+        }
+        pages[slot] = items;
+        pageNumbers[slot] = page;
+        return slot;
+    }
+}
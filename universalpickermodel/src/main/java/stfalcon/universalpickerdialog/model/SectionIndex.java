@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+
+/**
+ * Sections of a sorted data set: keys of consecutive runs of items (e.g. first letters)
+ * with the position of the first item of each run, so a section can be reached with a single jump.
+ * A key met again after another one (unsorted data) stays in its first section.
+ * */
+public final class SectionIndex {
+
+    static final String OTHER_SECTION = "#";
+
+    private final String[] sections;
+    private final int[] positions;
+
+    private SectionIndex(String[] sections, int[] positions) {
+        this.sections = sections;
+        this.positions = positions;
+    }
+
+    /**
+     * @param keys section key of every item
+     */
+    public static SectionIndex build(LabelProvider keys) {
+        ArrayList<String> sections = new ArrayList<>();
+        int[] positions = new int[16];
+        HashSet<String> seen = new HashSet<>();
+        String previous = null;
+        for (int i = 0, size = keys.size(); i < size; i++) {
+            String key = keys.getLabel(i);
+            if (key == null) {
+                key = OTHER_SECTION;
+            }
+            if (!key.equals(previous) && seen.add(key)) {
+                if (sections.size() == positions.length) {
+                    positions = Arrays.copyOf(positions, positions.length * 2);
+                }
+                positions[sections.size()] = i;
+                sections.add(key);
+            }
+            previous = key;
+        }
+        return new SectionIndex(sections.toArray(new String[sections.size()]),
+                Arrays.copyOf(positions, sections.size()));
+    }
+
+    /**
+     * @return upper-cased first letter of the label without diacritics, or {@link #OTHER_SECTION}
+     * if the label doesn't start with a letter
+     */
+    static String getFirstLetter(String label, Locale locale) {
+        if (label == null) return OTHER_SECTION;
+        for (int i = 0; i < label.length(); i++) {
+            int codePoint = label.codePointAt(i);
+            if (Character.isWhitespace(codePoint)) continue;
+            if (!Character.isLetter(codePoint)) return OTHER_SECTION;
+
+            String letter = Normalizer.normalize(new String(Character.toChars(codePoint)), Normalizer.Form.NFD);
+            return letter.substring(0, Character.charCount(letter.codePointAt(0))).toUpperCase(locale);
+        }
+        return OTHER_SECTION;
+    }
+
+    public String[] getSections() {
+        return sections;
+    }
+
+    public int getPositionForSection(int section) {
+        return positions[section];
+    }
+
+    /**
+     * @return section containing the position
+     */
+    public int getSectionForPosition(int position) {
+        int index = Arrays.binarySearch(positions, position);
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+}
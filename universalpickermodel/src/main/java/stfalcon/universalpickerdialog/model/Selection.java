@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+/**
+ * Selected positions of the {@link Column}s of a dialog, which maps them to values and items.
+ * The dialog keeps one selection bound to its pickers and copies it into the selection of its result
+ * on every pick, so picking doesn't allocate.
+ * It isn't thread-safe, the dialog uses it on the main thread.
+ * */
+public final class Selection {
+
+    private final Column[] columns;
+    private final int[] positions;
+
+    public Selection(Column... columns) {
+        this.columns = columns != null ? columns : new Column[0];
+        this.positions = new int[this.columns.length];
+    }
+
+    /**
+     * @return count of columns
+     * */
+    public int size() {
+        return positions.length;
+    }
+
+    public Column getColumn(int column) {
+        return columns[column];
+    }
+
+    /**
+     * @return position selected in the column
+     * */
+    public int getPosition(int column) {
+        return positions[column];
+    }
+
+    public void setPosition(int column, int position) {
+        positions[column] = position;
+    }
+
+    /**
+     * @return positions of all columns. It's the array of this selection, which bound pickers
+     * and controllers read and write, so it isn't copied
+     * */
+    public int[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * @return value selected in the column, see {@link Column#getValue(int)}
+     * */
+    public int getValue(int column) {
+        return columns[column].getValue(positions[column]);
+    }
+
+    /**
+     * @return values selected in all columns, in a new array
+     * */
+    public int[] getValues() {
+        int[] values = new int[positions.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getValue(i);
+        }
+        return values;
+    }
+
+    /**
+     * @return item selected in the column, cast to the type of the column's data set
+     * */
+    @SuppressWarnings("unchecked")
+    public <T> T getItem(int column) {
+        return (T) columns[column].getItem(positions[column]);
+    }
+
+    /**
+     * Copies positions of the other selection of the same columns
+     * */
+    public void set(Selection selection) {
+        System.arraycopy(selection.positions, 0, positions, 0, positions.length);
+    }
+}
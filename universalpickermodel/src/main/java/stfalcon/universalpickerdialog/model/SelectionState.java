@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+/**
+ * Selected positions of the columns of a dialog, along with the ids and sizes of their data sets.
+ * A position is restored only onto a column of the same dialog with the same data set,
+ * so a state saved for other data never selects a wrong or out of range item.
+ * */
+public final class SelectionState {
+
+    private final int key;
+    private final String[] ids;
+    private final int[] sizes;
+    private final int[] positions;
+
+    public SelectionState(int key, String[] ids, int[] sizes, int[] positions) {
+        this.key = key;
+        this.ids = ids;
+        this.sizes = sizes;
+        this.positions = positions;
+    }
+
+    public int getKey() {
+        return key;
+    }
+
+    public String[] getIds() {
+        return ids;
+    }
+
+    public int[] getSizes() {
+        return sizes;
+    }
+
+    public int[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * @param columnCount count of columns of the dialog the position is restored to
+     * @return saved position of the column if it belongs to the same data set, or the default position
+     */
+    public int getPosition(int key, int columnCount, int column, String id, int size, int defaultPosition) {
+        if (this.key == key
+                && positions.length == columnCount
+                && sizes[column] == size
+                && positions[column] < size
+                && (ids[column] == null ? id == null : ids[column].equals(id))) {
+            return positions[column];
+        }
+        return defaultPosition;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of strings packed into one array of characters with a table of offsets,
+ * for data sets of many labels, e.g. {@code new UniversalPickerDialog.Input(0, StringTable.of(names))}.
+ * It takes about 2 bytes per character (1 byte for Latin-1 text) plus 4 bytes per item,
+ * instead of a String object, its array and a reference per item.
+ * Strings are created only when requested, i.e. for the rows the wheel draws.
+ * */
+public final class StringTable extends AbstractList<String> implements RandomAccess, LabelProvider {
+
+    private static final int BYTE_MASK = 0xFF;
+    private static final Charset LATIN_1 = Charset.forName("ISO-8859-1");
+
+    /* one of them is null: bytes if all characters are Latin-1, chars otherwise */
+    private final byte[] bytes;
+    private final char[] chars;
+    private final int[] offsets;
+
+    private StringTable(byte[] bytes, char[] chars, int[] offsets) {
+        this.bytes = bytes;
+        this.chars = chars;
+        this.offsets = offsets;
+    }
+
+    /**
+     * @return table of the strings of the items, nulls are stored as empty strings
+     * */
+    public static StringTable of(Iterable<? extends CharSequence> items) {
+        Builder builder = new Builder();
+        for (CharSequence item : items) {
+            builder.add(item);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return table of the strings, nulls are stored as empty strings
+     * */
+    public static StringTable of(CharSequence... items) {
+        Builder builder = new Builder(items.length, 0);
+        for (CharSequence item : items) {
+            builder.add(item);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String get(int index) {
+        int start = offsets[index];
+        int length = offsets[index + 1] - start;
+        return bytes != null
+                ? new String(bytes, start, length, LATIN_1)
+                : new String(chars, start, length);
+    }
+
+    @Override
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public String getLabel(int position) {
+        return get(position);
+    }
+
+    /**
+     * @return heap size of the table in bytes, without object headers
+     * */
+    public long getSizeBytes() {
+        long data = bytes != null ? bytes.length : 2L * chars.length;
+        return data + 4L * offsets.length;
+    }
+
+    /**
+     * Builder class for {@link StringTable}, which appends strings without keeping them
+     * */
+    public static final class Builder {
+
+        private char[] chars;
+        private int[] offsets;
+        private int size;
+        private int length;
+        private boolean latin1 = true;
+
+        public Builder() {
+            this(16, 256);
+        }
+
+        /**
+         * @param expectedSize expected count of strings
+         * @param expectedLength expected count of characters of all strings
+         * */
+        public Builder(int expectedSize, int expectedLength) {
+            this.chars = new char[Math.max(16, expectedLength)];
+            this.offsets = new int[Math.max(16, expectedSize + 1)];
+        }
+
+        /**
+         * Appends the string, null is appended as an empty string
+         *
+         * @return This Builder object to allow for chaining of calls to add methods
+         * */
+        public Builder add(CharSequence item) {
+            int itemLength = item != null ? item.length() : 0;
+            if (length + itemLength > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + itemLength));
+            }
+            for (int i = 0; i < itemLength; i++) {
+                char c = item.charAt(i);
+                latin1 &= c <= BYTE_MASK;
+                chars[length++] = c;
+            }
+            if (size + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++size] = length;
+            return this;
+        }
+
+        /**
+         * Creates the {@link StringTable}, the builder shouldn't be used afterwards
+         * */
+        public StringTable build() {
+            int[] offsets = Arrays.copyOf(this.offsets, size + 1);
+            if (!latin1) {
+                return new StringTable(null, Arrays.copyOf(chars, length), offsets);
+            }
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) chars[i];
+            }
+            return new StringTable(bytes, null, offsets);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ArrayViewsTest {
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void rejectsSet() {
+        new ArrayViews.ObjectArrayView<>(new String[]{"a", "b"}).set(0, "c");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void rejectsAdd() {
+        new ArrayViews.IntArrayView(new int[]{1, 2}).add(3);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void rejectsRemove() {
+        new ArrayViews.LongArrayView(new long[]{1, 2}).remove(0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void rejectsClear() {
+        new ArrayViews.ObjectArrayView<>(new String[]{"a", "b"}).clear();
+    }
+
+    @Test
+    public void wrapsArrayWithoutCopying() {
+        String first = new String("a");
+        String[] array = {first, "b"};
+        List<String> view = new ArrayViews.ObjectArrayView<>(array);
+
+        assertSame(first, view.get(0));
+        array[1] = "c";
+        assertEquals("c", view.get(1));
+    }
+
+    @Test
+    public void reflectsChangesOfPrimitiveArrays() {
+        int[] ints = {1, 2};
+        long[] longs = {1, 2};
+        ArrayViews.IntArrayView intView = new ArrayViews.IntArrayView(ints);
+        ArrayViews.LongArrayView longView = new ArrayViews.LongArrayView(longs);
+
+        ints[0] = 10;
+        longs[0] = 20;
+
+        assertEquals(10, intView.getValue(0));
+        assertEquals("20", longView.getLabel(0));
+    }
+
+    @Test
+    public void leavesArrayUnchangedByColumnAndSelection() {
+        String[] array = {"Odesa", "Kyiv", "Lviv"};
+        String[] copy = array.clone();
+        Column column = new Column(2, new ArrayViews.ObjectArrayView<>(array));
+        column.setSectionIndexEnabled(true);
+
+        column.prepareLabels(Locale.US);
+        column.getLabels(Locale.US).getLabel(1);
+        column.getLabelIndex(Locale.US);
+        column.getSectionIndex(Locale.US);
+        Selection live = new Selection(column);
+        live.setPosition(0, 1);
+        Selection result = new Selection(column);
+        result.set(live);
+
+        assertSame(array[1], result.getItem(0));
+        assertArrayEquals(copy, array);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void rejectsNullArray() {
+        new ArrayViews.IntArrayView(null);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CalendarColumnTest {
+
+    @Test
+    public void mapsPositionsToValuesWithinBounds() {
+        CalendarColumn days = new CalendarColumn(1, 31, null, false);
+
+        assertEquals(31, days.size());
+        assertEquals(1, days.getValue(0));
+        assertEquals(31, days.getValue(30));
+        assertEquals(Integer.valueOf(15), days.get(14));
+    }
+
+    @Test
+    public void changesBoundsInPlace() {
+        CalendarColumn days = new CalendarColumn(1, 31, null, false);
+
+        assertTrue(days.setBounds(1, 29));
+        assertFalse(days.setBounds(1, 29));
+        assertEquals(29, days.size());
+        assertEquals(29, days.getLast());
+
+        assertTrue(days.setBounds(10, 29));
+        assertEquals(10, days.getFirst());
+        assertEquals(10, days.getValue(0));
+    }
+
+    @Test
+    public void clampsPositionOfValueToBounds() {
+        CalendarColumn days = new CalendarColumn(10, 20, null, false);
+
+        assertEquals(5, days.getPosition(15));
+        assertEquals(0, days.getPosition(1));
+        assertEquals(10, days.getPosition(31));
+    }
+
+    @Test
+    public void labelsValues() {
+        String[] names = {"Jan", "Feb", "Mar"};
+
+        assertEquals("Feb", new CalendarColumn(1, 2, names, false).getLabel(0));
+        assertEquals("05", new CalendarColumn(0, 59, null, true).getLabel(5));
+        assertEquals("5", new CalendarColumn(0, 59, null, false).getLabel(5));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsPositionOutOfBounds() {
+        CalendarColumn days = new CalendarColumn(1, 31, null, false);
+        days.setBounds(1, 28);
+        days.getValue(28);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsReversedBounds() {
+        new CalendarColumn(1, 31, null, false).setBounds(10, 9);
+    }
+}
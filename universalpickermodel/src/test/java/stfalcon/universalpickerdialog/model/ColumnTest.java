@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnTest {
+
+    private static final LabelFormatter NUMBERED = new LabelFormatter() {
+        @Override
+        public String format(int position) {
+            return "#" + position;
+        }
+    };
+
+    @Test
+    public void formatsLabelsWithFormatterFirst() {
+        Column column = new Column(0, new ArrayViews.ObjectArrayView<>(new Integer[]{7, 8}));
+        assertEquals("8", column.formatLabel(1));
+
+        column.setFormatter(NUMBERED);
+        assertEquals("#1", column.formatLabel(1));
+    }
+
+    @Test
+    public void formatsLabelsOfLabelProviders() {
+        Column column = new Column(0, new IntRange(0, 10, 5, "00"));
+
+        assertEquals("05", column.formatLabel(1));
+        assertEquals(10, column.getValue(2));
+    }
+
+    @Test
+    public void keepsLabelsOfSameLocale() {
+        Column column = new Column(0, new ArrayViews.ObjectArrayView<>(new String[]{"a", "b"}));
+        LabelProvider labels = column.getLabels(Locale.US);
+
+        assertSame(labels, column.getLabels(Locale.US));
+        assertNotSame(labels, column.getLabels(Locale.FRANCE));
+    }
+
+    @Test
+    public void dropsLabelsOfReplacedList() {
+        Column column = new Column(0, new ArrayViews.ObjectArrayView<>(new String[]{"a", "b"}));
+        column.getLabels(Locale.US);
+        int version = column.getLabelsVersion();
+
+        column.setList(new ArrayViews.ObjectArrayView<>(new String[]{"c", "d"}));
+
+        assertTrue(column.getLabelsVersion() != version);
+        assertEquals("c", column.getLabels(Locale.US).getLabel(0));
+    }
+
+    @Test
+    public void precomputesLabelsIntoTable() {
+        Column column = new Column(0, new ArrayViews.ObjectArrayView<>(new String[]{"a", "b"}));
+        column.setPrecomputeLabels(true);
+
+        assertTrue(column.getLabels(Locale.US) instanceof LabelTable);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsChangesAfterSharing() {
+        Column column = new Column(0, new ArrayViews.ObjectArrayView<>(new String[]{"a", "b"}));
+        column.share("letters", Locale.US);
+
+        column.setFormatter(NUMBERED);
+    }
+
+    @Test
+    public void sharesLabelsFormattedInGivenLocale() {
+        final int[] calls = new int[1];
+        Column column = new Column(0, new ArrayViews.ObjectArrayView<>(new String[]{"a", "b"}));
+        column.setFormatter(new LabelFormatter() {
+            @Override
+            public String format(int position) {
+                calls[0]++;
+                return "#" + position;
+            }
+        });
+
+        column.share("letters", Locale.FRANCE);
+        LabelProvider labels = column.getLabels(Locale.FRANCE);
+
+        assertTrue(labels instanceof LabelTable);
+        assertEquals(2, calls[0]);
+        assertEquals(((LabelTable) labels).getSizeBytes(), column.getSharedSizeBytes());
+    }
+
+    @Test
+    public void sharesStringTableAsItIs() {
+        StringTable table = StringTable.of(Arrays.asList("Kyiv", "Lviv", "Odesa"));
+        Column column = new Column(0, table);
+
+        column.share("cities", Locale.US);
+
+        LabelProvider labels = column.getLabels(Locale.US);
+        assertFalse(labels instanceof LabelTable);
+        assertEquals("Lviv", labels.getLabel(1));
+        assertEquals(table.getSizeBytes(), column.getSharedSizeBytes());
+    }
+
+    @Test
+    public void estimatesSizeOfSharedLabelProviders() {
+        Column column = new Column(0, new IntRange(0, 999, 1, "000"));
+
+        column.share("numbers", Locale.US);
+
+        assertTrue(column.getLabels(Locale.US) instanceof LabelCache);
+        assertTrue(column.getSharedSizeBytes() >= 1000 * 3 * 2);
+    }
+
+    @Test
+    public void buildsSearchIndexOfLabels() {
+        Column column = new Column(0, new ArrayViews.ObjectArrayView<>(new String[]{"Kyiv", "Lviv", "Odesa"}));
+
+        assertEquals(1, column.getLabelIndex(Locale.US).find("lv"));
+    }
+}
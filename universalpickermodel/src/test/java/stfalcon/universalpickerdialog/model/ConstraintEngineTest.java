@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConstraintEngineTest {
+
+    @Test
+    public void evaluatesRowsOnFirstUse() {
+        CountingRelation relation = new CountingRelation();
+        ConstraintEngine engine = new ConstraintEngine(new int[] {100, 200});
+        engine.add(0, 1, relation);
+        assertEquals(0, relation.calls);
+
+        int[] positions = {10, 0};
+        engine.findNearestAllowed(1, 0, positions);
+        assertEquals(200, relation.calls);
+
+        engine.findNearestAllowed(1, 50, positions);
+        assertEquals(200, relation.calls);
+
+        engine.findNearestAllowed(0, 10, positions);
+        assertEquals(300, relation.calls);
+    }
+
+    @Test
+    public void findsNearestAllowedPosition() {
+        ConstraintEngine engine = new ConstraintEngine(new int[] {10, 100});
+        engine.add(0, 1, new CountingRelation());
+        int[] positions = {3, 0};
+
+        assertEquals(9, engine.findNearestAllowed(1, 9, positions));
+        assertEquals(9, engine.findNearestAllowed(1, 10, positions));
+        assertEquals(12, engine.findNearestAllowed(1, 11, positions));
+        assertEquals(99, engine.findNearestAllowed(1, 99, positions));
+    }
+
+    @Test
+    public void dropsRowsWhenSizeChanges() {
+        CountingRelation relation = new CountingRelation();
+        ConstraintEngine engine = new ConstraintEngine(new int[] {10, 100});
+        engine.add(0, 1, relation);
+        int[] positions = {3, 0};
+        engine.findNearestAllowed(1, 0, positions);
+
+        engine.setSize(1, 50);
+        assertEquals(48, engine.findNearestAllowed(1, 70, positions));
+        assertEquals(150, relation.calls);
+    }
+
+    @Test
+    public void returnsMinusOneWhenNothingIsAllowed() {
+        ConstraintEngine engine = new ConstraintEngine(new int[] {10, 10});
+        engine.add(0, 1, new ConstraintEngine.Relation() {
+            @Override
+            public boolean allows(int firstPosition, int secondPosition) {
+                return false;
+            }
+        });
+
+        assertEquals(-1, engine.findNearestAllowed(1, 5, new int[] {0, 5}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsConstraintOfColumnWithItself() {
+        new ConstraintEngine(new int[] {10, 10}).add(1, 1, new CountingRelation());
+    }
+
+    /* allows positions of the second column divisible by the position of the first one */
+    static class CountingRelation implements ConstraintEngine.Relation {
+
+        int calls;
+
+        @Override
+        public boolean allows(int firstPosition, int secondPosition) {
+            calls++;
+            return firstPosition != 0 && secondPosition % firstPosition == 0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+public class DateTimeControllerTest {
+
+    private static final long MIN_DATE = date(2015, Calendar.MARCH, 10);
+    private static final long MAX_DATE = date(2021, Calendar.OCTOBER, 20);
+
+    @Test
+    public void boundsDaysByMonth() {
+        DateTimeController dateTime = new DateTimeController(MIN_DATE, MAX_DATE, false, true, Locale.US);
+        CalendarColumn[] columns = dateTime.getColumns();
+
+        dateTime.select(date(2020, Calendar.FEBRUARY, 1));
+        assertEquals(29, columns[DateTimeController.DAY].size());
+
+        dateTime.select(date(2019, Calendar.FEBRUARY, 1));
+        assertEquals(28, columns[DateTimeController.DAY].size());
+
+        dateTime.select(date(2019, Calendar.JULY, 1));
+        assertEquals(31, columns[DateTimeController.DAY].size());
+    }
+
+    @Test
+    public void boundsColumnsByMinAndMaxDates() {
+        DateTimeController dateTime = new DateTimeController(MIN_DATE, MAX_DATE, false, true, Locale.US);
+        CalendarColumn[] columns = dateTime.getColumns();
+
+        int[] positions = dateTime.select(date(2015, Calendar.MARCH, 1));
+        assertEquals(Calendar.MARCH, columns[DateTimeController.MONTH].getFirst());
+        assertEquals(10, columns[DateTimeController.DAY].getFirst());
+        assertEquals(0, positions[DateTimeController.DAY]);
+
+        dateTime.select(date(2021, Calendar.OCTOBER, 31));
+        assertEquals(Calendar.OCTOBER, columns[DateTimeController.MONTH].getLast());
+        assertEquals(20, columns[DateTimeController.DAY].getLast());
+    }
+
+    @Test
+    public void roundTripsSelectedDate() {
+        DateTimeController dateTime = new DateTimeController(MIN_DATE, MAX_DATE, true, false, Locale.US);
+        Calendar calendar = Calendar.getInstance(Locale.US);
+        calendar.clear();
+        calendar.set(2018, Calendar.JUNE, 15, 18, 45);
+
+        int[] positions = dateTime.select(calendar.getTimeInMillis());
+        assertEquals(calendar.getTimeInMillis(), dateTime.getTimeInMillis(positions));
+    }
+
+    @Test
+    public void restoresDayWithinRestoredMonth() {
+        DateTimeController dateTime = new DateTimeController(MIN_DATE, MAX_DATE, false, true, Locale.US);
+        CalendarColumn[] columns = dateTime.getColumns();
+        int[] saved = dateTime.select(date(2020, Calendar.FEBRUARY, 29));
+        SelectionState state = new SelectionState(0, new String[3],
+                new int[]{columns[0].size(), columns[1].size(), columns[2].size()}, saved);
+
+        int[] defaults = dateTime.select(date(2021, Calendar.JANUARY, 31));
+        int[] positions = new int[columns.length];
+        for (int column = 0; column < columns.length; column++) {
+            dateTime.updateBounds(column, positions);
+            positions[column] = state.getPosition(0, columns.length, column, null,
+                    columns[column].size(), defaults[column]);
+        }
+
+        assertEquals(29, columns[DateTimeController.DAY].size());
+        assertEquals(date(2020, Calendar.FEBRUARY, 29), dateTime.getTimeInMillis(positions));
+    }
+
+    private static long date(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance(Locale.US);
+        calendar.clear();
+        calendar.set(year, month, day);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class IntRangeTest {
+
+    @Test
+    public void computesValuesFromPositions() {
+        IntRange range = new IntRange(10, 50, 10, null);
+
+        assertEquals(5, range.size());
+        assertEquals(10, range.getValue(0));
+        assertEquals(30, range.getValue(2));
+        assertEquals(50, range.getValue(4));
+        assertEquals(Integer.valueOf(50), range.get(4));
+    }
+
+    @Test
+    public void skipsEndWhichCantBeReached() {
+        IntRange range = new IntRange(0, 10, 3, null);
+
+        assertEquals(4, range.size());
+        assertEquals(9, range.getValue(3));
+    }
+
+    @Test
+    public void walksDescendingRange() {
+        IntRange range = new IntRange(5, -5, -5, null);
+
+        assertEquals(3, range.size());
+        assertEquals(5, range.getValue(0));
+        assertEquals(-5, range.getValue(2));
+    }
+
+    @Test
+    public void findsPositionOfClosestValue() {
+        IntRange range = new IntRange(0, 100, 10, null);
+
+        assertEquals(3, range.getPosition(30));
+        assertEquals(3, range.getPosition(32));
+        assertEquals(4, range.getPosition(38));
+        assertEquals(0, range.getPosition(-100));
+        assertEquals(10, range.getPosition(1000));
+    }
+
+    @Test
+    public void formatsLabelsWithPattern() {
+        IntRange range = new IntRange(0, 59, 1, "00");
+
+        assertEquals("05", range.getLabel(5));
+        assertEquals("59", range.getLabel(59));
+        assertEquals("7", new IntRange(0, 10, 1, null).getLabel(7));
+    }
+
+    @Test
+    public void handlesExtremeBounds() {
+        IntRange range = new IntRange(Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, null);
+
+        assertEquals(3, range.size());
+        assertEquals(Integer.MAX_VALUE - 1, range.getValue(2));
+    }
+
+    @Test
+    public void walksLongestRange() {
+        IntRange range = new IntRange(Integer.MAX_VALUE, 1, -1, null);
+
+        assertEquals(Integer.MAX_VALUE, range.size());
+        assertEquals(1, range.getValue(Integer.MAX_VALUE - 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsRangeOfAllInts() {
+        new IntRange(Integer.MIN_VALUE, Integer.MAX_VALUE, 1, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsRangeLongerThanMaxInt() {
+        new IntRange(0, Integer.MAX_VALUE, 1, null);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsPositionOutOfRange() {
+        new IntRange(0, 10, 1, null).getValue(11);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroStep() {
+        new IntRange(0, 10, 0, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsStepAwayFromEnd() {
+        new IntRange(0, 10, -1, null);
+    }
+}
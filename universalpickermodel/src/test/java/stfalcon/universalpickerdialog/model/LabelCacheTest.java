@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LabelCacheTest {
+
+    @Test
+    public void formatsEachLabelOnce() {
+        CountingLabels source = new CountingLabels(1000);
+        LabelCache cache = new LabelCache(source);
+
+        String label = cache.getLabel(500);
+        assertEquals("#500", label);
+        assertSame(label, cache.getLabel(500));
+        assertEquals(1, source.calls);
+    }
+
+    @Test
+    public void tracksComputedLabels() {
+        LabelCache cache = new LabelCache(new CountingLabels(1000));
+
+        assertFalse(cache.isComputed(300));
+        cache.getLabel(300);
+        assertTrue(cache.isComputed(300));
+        assertFalse(cache.isComputed(301));
+        assertFalse(cache.isComputed(0));
+    }
+
+    @Test
+    public void splitsLabelsIntoChunks() {
+        assertEquals(0, new LabelCache(new CountingLabels(0)).getChunkCount());
+        assertEquals(1, new LabelCache(new CountingLabels(LabelCache.CHUNK_SIZE)).getChunkCount());
+        assertEquals(2, new LabelCache(new CountingLabels(LabelCache.CHUNK_SIZE + 1)).getChunkCount());
+    }
+
+    @Test
+    public void keepsSizeOfSource() {
+        CountingLabels source = new CountingLabels(5);
+        LabelCache cache = new LabelCache(source);
+        source.size = 6;
+
+        assertEquals(5, cache.size());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsPositionOutOfRange() {
+        new LabelCache(new CountingLabels(5)).getLabel(5);
+    }
+
+    static class CountingLabels implements LabelProvider {
+
+        int size;
+        int calls;
+
+        CountingLabels(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String getLabel(int position) {
+            calls++;
+            return "#" + position;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class LabelTableTest {
+
+    private static final int SIZE = 10000;
+    // NumberPicker draws the selected row and one row above and below it
+    private static final int VISIBLE_ROWS = 3;
+    private static final long ALLOWED_BYTES = 1024;
+
+    @Test
+    public void computesLabelsOnce() {
+        LabelCacheTest.CountingLabels source = new LabelCacheTest.CountingLabels(SIZE);
+        LabelTable table = LabelTable.build(source);
+
+        assertEquals(SIZE, table.size());
+        assertEquals("#1234", table.getLabel(1234));
+        assertEquals(SIZE, source.calls);
+        assertTrue(table.getSizeBytes() > SIZE * 4L);
+    }
+
+    /**
+     * Scrolls a 10k item wheel from the first item to the last one, formatting every visible row on every step
+     */
+    @Test
+    public void scrollingDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = getThreadMXBean();
+        LabelTable table = LabelTable.build(new LabelCacheTest.CountingLabels(SIZE));
+        LabelProvider formatter = new LabelCacheTest.CountingLabels(SIZE);
+        long threadId = Thread.currentThread().getId();
+
+        // warm up, so neither class loading nor compilation is counted
+        scroll(table);
+        scroll(formatter);
+
+        long start = threads.getThreadAllocatedBytes(threadId);
+        long baseline = threads.getThreadAllocatedBytes(threadId) - start;
+
+        start = threads.getThreadAllocatedBytes(threadId);
+        int tableChars = scroll(table);
+        long tableBytes = threads.getThreadAllocatedBytes(threadId) - start - baseline;
+
+        start = threads.getThreadAllocatedBytes(threadId);
+        int formattedChars = scroll(formatter);
+        long formattedBytes = threads.getThreadAllocatedBytes(threadId) - start - baseline;
+
+        assertEquals(formattedChars, tableChars);
+        assertTrue("Table allocated " + tableBytes + " bytes", tableBytes < ALLOWED_BYTES);
+        assertTrue("Formatter allocated " + formattedBytes + " bytes", formattedBytes > SIZE * VISIBLE_ROWS);
+    }
+
+    @Test(expected = CancellationException.class)
+    public void stopsBuildingWhenInterrupted() {
+        Thread.currentThread().interrupt();
+        try {
+            LabelTable.build(new LabelCacheTest.CountingLabels(SIZE));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private static int scroll(LabelProvider labels) {
+        int size = labels.size();
+        int chars = 0;
+        for (int position = 0; position < size; position++) {
+            for (int row = -VISIBLE_ROWS / 2; row <= VISIBLE_ROWS / 2; row++) {
+                chars += labels.getLabel((position + row + size) % size).length();
+            }
+        }
+        return chars;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        return allocations;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ListDiffTest {
+
+    private static final List<String> LETTERS = Arrays.asList("A", "B", "C", "D", "E", "F", "G", "H");
+
+    @Test
+    public void comparesItemsInOrder() {
+        assertTrue(ListDiff.isSame(LETTERS, Arrays.asList("A", "B", "C", "D", "E", "F", "G", "H")));
+        assertFalse(ListDiff.isSame(LETTERS, Arrays.asList("A", "B", "C", "D", "E", "F", "H", "G")));
+        assertFalse(ListDiff.isSame(LETTERS, Arrays.asList("A", "B")));
+    }
+
+    @Test
+    public void keepsSelectedItemWhenItMoves() {
+        assertEquals(4, ListDiff.findPosition(LETTERS, 3, Arrays.asList("X", "A", "B", "C", "D", "E")));
+        assertEquals(0, ListDiff.findPosition(LETTERS, 3, Arrays.asList("D", "A")));
+    }
+
+    @Test
+    public void selectsNearestNeighbourOfRemovedItem() {
+        assertEquals(0, ListDiff.findPosition(LETTERS, 1, Arrays.asList("A", "H")));
+        assertEquals(1, ListDiff.findPosition(LETTERS, 6, Arrays.asList("A", "H")));
+        assertEquals(1, ListDiff.findPosition(LETTERS, 3, Arrays.asList("A", "F", "H")));
+    }
+
+    @Test
+    public void prefersFollowingNeighbourOnTie() {
+        assertEquals(1, ListDiff.findPosition(LETTERS, 3, Arrays.asList("C", "E")));
+    }
+
+    @Test
+    public void clampsOldPositionWhenNothingIsLeft() {
+        assertEquals(3, ListDiff.findNewPosition(LETTERS, 3, Arrays.asList("W", "X", "Y", "Z")));
+        assertEquals(1, ListDiff.findNewPosition(LETTERS, 3, Arrays.asList("Y", "Z")));
+        assertEquals(1, ListDiff.findNewPosition(null, 1, Arrays.asList("Y", "Z")));
+    }
+
+    @Test
+    public void doesNotLoadPagesOfPagedLists() {
+        PagedList<Integer> paged = new PagedList<>(new DataSource<Integer>() {
+            @Override
+            public int size() {
+                return 100;
+            }
+
+            @Override
+            public List<Integer> load(int start, int count) {
+                throw new AssertionError("No page should be loaded");
+            }
+        }, 10, 1);
+
+        assertFalse(ListDiff.isSame(Arrays.asList(1, 2), paged));
+        assertEquals(50, ListDiff.findNewPosition(LETTERS, 50, paged));
+        assertEquals(7, ListDiff.findNewPosition(paged, 50, LETTERS));
+    }
+
+    @Test
+    public void returnsNoPositionWhenNothingIsLeft() {
+        assertEquals(ListDiff.NO_POSITION,
+                ListDiff.findPosition(LETTERS, 3, Collections.singletonList("X")));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class PagedListTest {
+
+    @Test
+    public void loadsPagesOnDemand() {
+        CountingSource source = new CountingSource(1000);
+        PagedList<Integer> list = new PagedList<>(source, 100, 3);
+
+        assertEquals(1000, list.size());
+        assertEquals(0, source.loads);
+
+        assertEquals(Integer.valueOf(0), list.get(0));
+        assertEquals(Integer.valueOf(99), list.get(99));
+        assertEquals(1, source.loads);
+
+        assertEquals(Integer.valueOf(100), list.get(100));
+        assertEquals(2, source.loads);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedPage() {
+        CountingSource source = new CountingSource(1000);
+        PagedList<Integer> list = new PagedList<>(source, 100, 3);
+
+        list.get(0);
+        list.get(100);
+        list.get(200);
+        list.get(5); // page 0 becomes the most recently used one
+        assertEquals(3, source.loads);
+
+        list.get(300); // evicts page 1
+        assertEquals(4, source.loads);
+
+        list.get(0);
+        list.get(200);
+        list.get(300);
+        assertEquals(4, source.loads);
+
+        list.get(100);
+        assertEquals(5, source.loads);
+    }
+
+    @Test
+    public void loadsShorterLastPage() {
+        CountingSource source = new CountingSource(250);
+        PagedList<Integer> list = new PagedList<>(source, 100, 2);
+
+        assertEquals(Integer.valueOf(249), list.get(249));
+        assertEquals(200, source.lastStart);
+        assertEquals(50, source.lastCount);
+    }
+
+    @Test
+    public void concurrentReadersSeeTheirItems() throws InterruptedException {
+        final PagedList<Integer> list = new PagedList<>(new CountingSource(10000), 10, 2);
+        final AtomicInteger mismatches = new AtomicInteger();
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            final Random random = new Random(i);
+            readers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int read = 0; read < 100000; read++) {
+                        int index = random.nextInt(list.size());
+                        try {
+                            if (list.get(index) != index) {
+                                mismatches.incrementAndGet();
+                            }
+                        } catch (RuntimeException e) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            readers[i].start();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(0, mismatches.get());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsPositionOutOfRange() {
+        new PagedList<>(new CountingSource(10), 5, 2).get(10);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsPageOfWrongSize() {
+        PagedList<Integer> list = new PagedList<>(new CountingSource(10) {
+            @Override
+            public List<Integer> load(int start, int count) {
+                return super.load(start, count - 1);
+            }
+        }, 5, 2);
+        list.get(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyPageCache() {
+        new PagedList<>(new CountingSource(10), 5, 0);
+    }
+
+    static class CountingSource implements DataSource<Integer> {
+
+        private final int size;
+        int loads;
+        int lastStart;
+        int lastCount;
+
+        CountingSource(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public List<Integer> load(int start, int count) {
+            loads++;
+            lastStart = start;
+            lastCount = count;
+            List<Integer> items = new ArrayList<>(count);
+            for (int i = start; i < start + count; i++) {
+                items.add(i);
+            }
+            return items;
+        }
+    }
+}
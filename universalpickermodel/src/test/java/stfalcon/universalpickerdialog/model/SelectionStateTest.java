@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SelectionStateTest {
+
+    private static final int KEY = 7;
+    private static final int DEFAULT_POSITION = 1;
+
+    private final SelectionState state = new SelectionState(KEY,
+            new String[]{"cities", null}, new int[]{10, 20}, new int[]{4, 15});
+
+    @Test
+    public void restoresPositionOfSameDataSet() {
+        assertEquals(4, state.getPosition(KEY, 2, 0, "cities", 10, DEFAULT_POSITION));
+        assertEquals(15, state.getPosition(KEY, 2, 1, null, 20, DEFAULT_POSITION));
+    }
+
+    @Test
+    public void ignoresOtherDialog() {
+        assertEquals(DEFAULT_POSITION, state.getPosition(KEY + 1, 2, 0, "cities", 10, DEFAULT_POSITION));
+        assertEquals(DEFAULT_POSITION, state.getPosition(KEY, 3, 0, "cities", 10, DEFAULT_POSITION));
+    }
+
+    @Test
+    public void ignoresOtherDataSet() {
+        assertEquals(DEFAULT_POSITION, state.getPosition(KEY, 2, 0, "countries", 10, DEFAULT_POSITION));
+        assertEquals(DEFAULT_POSITION, state.getPosition(KEY, 2, 0, null, 10, DEFAULT_POSITION));
+        assertEquals(DEFAULT_POSITION, state.getPosition(KEY, 2, 1, "cities", 20, DEFAULT_POSITION));
+        assertEquals(DEFAULT_POSITION, state.getPosition(KEY, 2, 0, "cities", 11, DEFAULT_POSITION));
+    }
+
+    @Test
+    public void ignoresPositionOutOfDataSet() {
+        SelectionState state = new SelectionState(KEY, new String[]{null}, new int[]{3}, new int[]{3});
+
+        assertEquals(DEFAULT_POSITION, state.getPosition(KEY, 1, 0, null, 3, DEFAULT_POSITION));
+    }
+}
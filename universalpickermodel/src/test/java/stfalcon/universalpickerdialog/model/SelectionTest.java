@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class SelectionTest {
+
+    private static final String[] CITIES = {"Kyiv", "Lviv", "Odesa"};
+
+    @Test
+    public void mapsPositionsToItemsAndValues() {
+        Selection selection = new Selection(
+                new Column(0, new ArrayViews.ObjectArrayView<>(CITIES)),
+                new Column(0, new IntRange(1990, 2000, 5, null)));
+        selection.setPosition(0, 2);
+        selection.setPosition(1, 1);
+
+        assertSame(CITIES[2], selection.getItem(0));
+        assertEquals(1995, selection.getValue(1));
+        assertEquals(Integer.valueOf(1995), selection.<Integer>getItem(1));
+        assertArrayEquals(new int[]{2, 1995}, selection.getValues());
+    }
+
+    @Test
+    public void exposesLivePositions() {
+        Selection selection = new Selection(new Column(0, new ArrayViews.ObjectArrayView<>(CITIES)));
+        selection.getPositions()[0] = 1;
+
+        assertEquals(1, selection.getPosition(0));
+    }
+
+    @Test
+    public void copiesPositionsOfOtherSelection() {
+        Column cities = new Column(0, new ArrayViews.ObjectArrayView<>(CITIES));
+        Selection live = new Selection(cities, cities);
+        Selection result = new Selection(cities, cities);
+        live.setPosition(0, 2);
+        live.setPosition(1, 1);
+
+        result.set(live);
+        live.setPosition(0, 0);
+
+        assertArrayEquals(new int[]{2, 1}, result.getPositions());
+    }
+
+    @Test
+    public void hasNoColumnsForNull() {
+        assertEquals(0, new Selection((Column[]) null).size());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2016 Alexander Krol stfalcon.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package stfalcon.universalpickerdialog.model;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class StringTableTest {
+
+    private static final int SIZE = 100000;
+
+    @Test
+    public void storesLatin1StringsInOneBytePerChar() {
+        List<String> items = Arrays.asList("London", "Z\u00fcrich", "S\u00e3o Paulo");
+        StringTable table = StringTable.of(items);
+
+        assertEquals(items, table);
+        assertEquals("Z\u00fcrich", table.getLabel(1));
+        assertEquals(6 + 6 + 9 + 4 * 4, table.getSizeBytes());
+    }
+
+    @Test
+    public void storesOtherStringsInTwoBytesPerChar() {
+        List<String> items = Arrays.asList("\u041a\u0438\u0457\u0432", "\u6771\u4eac", "Paris");
+        StringTable table = StringTable.of(items);
+
+        assertEquals(items, table);
+        assertEquals(2 * (4 + 2 + 5) + 4 * 4, table.getSizeBytes());
+    }
+
+    @Test
+    public void storesEmptyStringsAndNulls() {
+        StringTable table = StringTable.of("", null, "a", "\u03a9", "");
+
+        assertEquals(Arrays.asList("", "", "a", "\u03a9", ""), table);
+        assertEquals(0, StringTable.of().size());
+    }
+
+    @Test
+    public void growsBuilderBuffers() {
+        StringTable.Builder builder = new StringTable.Builder(1, 1);
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String item = i % 2 == 0 ? "Item " + i : "\u042d\u043b\u0435\u043c\u0435\u043d\u0442 " + i;
+            items.add(item);
+            builder.add(item);
+        }
+
+        assertEquals(items, builder.build());
+    }
+
+    @Test
+    public void hasSizeOfItems() {
+        assertEquals(3, StringTable.of("a", "b", "c").size());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsNegativeIndex() {
+        StringTable.of("a", "b").get(-1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsIndexOfSize() {
+        StringTable.of("a", "b").get(2);
+    }
+
+    /**
+     * Compares the heap taken by 100k street names as a list of strings, which is allocated
+     * when it's created, with the size of the table holding the same names
+     */
+    @Test
+    public void takesLessHeapThanListOfStrings() {
+        com.sun.management.ThreadMXBean threads = getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        char[][] names = new char[SIZE][];
+        StringTable.Builder builder = new StringTable.Builder(SIZE, SIZE * 12);
+        for (int i = 0; i < SIZE; i++) {
+            names[i] = String.format("Street %05d", i).toCharArray();
+            builder.add(new String(names[i]));
+        }
+        StringTable table = builder.build();
+        createList(names); // warm up, so neither class loading nor compilation is counted
+
+        long start = threads.getThreadAllocatedBytes(threadId);
+        List<String> list = createList(names);
+        long listBytes = threads.getThreadAllocatedBytes(threadId) - start;
+
+        assertEquals(list, table);
+        assertTrue("List of strings takes " + listBytes + " bytes, table takes " + table.getSizeBytes(),
+                table.getSizeBytes() * 2 < listBytes);
+    }
+
+    private static List<String> createList(char[][] names) {
+        List<String> list = new ArrayList<>(names.length);
+        for (char[] name : names) {
+            list.add(new String(name));
+        }
+        return list;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        return allocations;
+    }
+}